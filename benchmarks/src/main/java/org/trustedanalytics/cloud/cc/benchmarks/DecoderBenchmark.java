@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.benchmarks;
+
+import org.trustedanalytics.cloud.cc.api.CcAppSummary;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.Page;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy.LowerCaseWithUnderscoresStrategy;
+import com.google.common.reflect.TypeToken;
+
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.jackson.JacksonDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of Cloud Controller responses with the mapper configuration used by FeignClient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecoderBenchmark {
+
+    private static final Type ORG_PAGE = new TypeToken<Page<CcOrg>>() {}.getType();
+    private static final Type SERVICE_INSTANCE_PAGE = new TypeToken<Page<CcExtendedServiceInstance>>() {}.getType();
+
+    @Param({"50", "100"})
+    private int pageSize;
+
+    private byte[] orgPage;
+    private byte[] serviceInstancePage;
+    private byte[] appSummary;
+
+    private Decoder jacksonDecoder;
+
+    @Setup
+    public void setUp() {
+        orgPage = Payloads.orgPage(pageSize, null).getBytes(Util.UTF_8);
+        serviceInstancePage = Payloads.serviceInstancePage(pageSize, null).getBytes(Util.UTF_8);
+        appSummary = Payloads.appSummary().getBytes(Util.UTF_8);
+
+        final ObjectMapper mapper = cloudControllerMapper();
+        jacksonDecoder = new JacksonDecoder(mapper);
+    }
+
+    @Benchmark
+    public Object orgPage() throws IOException {
+        return jacksonDecoder.decode(response(orgPage), ORG_PAGE);
+    }
+
+    @Benchmark
+    public Object serviceInstancePage() throws IOException {
+        return jacksonDecoder.decode(response(serviceInstancePage), SERVICE_INSTANCE_PAGE);
+    }
+
+    @Benchmark
+    public Object appSummary() throws IOException {
+        return jacksonDecoder.decode(response(appSummary), CcAppSummary.class);
+    }
+
+    static ObjectMapper cloudControllerMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setPropertyNamingStrategy(new LowerCaseWithUnderscoresStrategy());
+        return mapper;
+    }
+
+    private static Response response(byte[] body) {
+        return Response.create(200, "OK", Collections.emptyMap(), body);
+    }
+}
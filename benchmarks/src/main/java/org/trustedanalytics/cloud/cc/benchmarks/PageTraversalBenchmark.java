@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.benchmarks;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+
+import feign.Logger;
+import feign.Response;
+import feign.Util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Traversal of a paged collection by FeignClient. Pages are served by an in-process client, so
+ * the result reflects client overhead (requests, decoding, concatenation) without network latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageTraversalBenchmark {
+
+    private static final String API_URL = "http://api.example.com";
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1", "10"})
+    private int pages;
+
+    @Param({"1", "4"})
+    private int prefetch;
+
+    private FeignClient client;
+
+    @Setup
+    public void setUp() {
+        final byte[][] bodies = new byte[pages][];
+        for (int page = 1; page <= pages; page++) {
+            final String nextUrl = page < pages ? "/v2/organizations?page=" + (page + 1) : null;
+            bodies[page - 1] = Payloads.orgPage(PAGE_SIZE, nextUrl)
+                .replace("\"total_pages\":1", "\"total_pages\":" + pages)
+                .getBytes(Util.UTF_8);
+        }
+
+        client = new FeignClient(API_URL, builder -> builder
+            .logLevel(Logger.Level.NONE)
+            .client((request, options) -> {
+                final Matcher matcher = PAGE.matcher(request.url());
+                final int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+                return Response.create(200, "OK", Collections.emptyMap(), bodies[page - 1]);
+            }), prefetch);
+    }
+
+    @Benchmark
+    public void getOrgs(Blackhole blackhole) {
+        client.getOrgs().toBlocking().forEach(blackhole::consume);
+    }
+}
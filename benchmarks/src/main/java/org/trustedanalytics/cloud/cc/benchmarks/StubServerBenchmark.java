@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.benchmarks;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.FeignClientPresets;
+import org.trustedanalytics.cloud.cc.stub.CcStubServer;
+import org.trustedanalytics.cloud.cc.stub.StubSettings;
+
+import feign.Feign.Builder;
+import feign.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing of service instances over HTTP from {@link CcStubServer}, with the default and the
+ * pooled transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StubServerBenchmark {
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private CcStubServer server;
+    private FeignClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = CcStubServer.start(StubSettings.DEFAULT.withOrgs(20).withSpacesPerOrg(2));
+        client = new FeignClient(server.getUrl(), builder -> {
+            final Builder quiet = builder.logLevel(Logger.Level.NONE);
+            return pooled ? FeignClientPresets.pooledTransport().apply(quiet) : quiet;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public void getExtendedServiceInstances(Blackhole blackhole) {
+        client.getExtendedServiceInstances(2).toBlocking().forEach(blackhole::consume);
+    }
+}
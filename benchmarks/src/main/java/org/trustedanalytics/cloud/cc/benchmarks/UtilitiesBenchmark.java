@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.benchmarks;
+
+import org.trustedanalytics.cloud.cc.api.CcAppEnv;
+import org.trustedanalytics.cloud.cc.api.CcMetadata;
+import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryErrorDecoder;
+import org.trustedanalytics.cloud.cc.api.queries.Filter;
+import org.trustedanalytics.cloud.cc.api.queries.FilterOperator;
+import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import feign.Response;
+import feign.Util;
+import feign.codec.ErrorDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Small, frequently called helpers: query formatting, environment lookups, guid and error
+ * decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilitiesBenchmark {
+
+    private static final String SSO_ENDPOINT = "$..[?(@.name=='sso')]..credentials..apiEndpoint";
+
+    private FilterQuery filterQuery;
+    private CcAppEnv appEnv;
+    private ObjectMapper mapper;
+    private byte[] metadata;
+    private byte[] cloudFoundryError;
+    private ErrorDecoder errorDecoder;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Object[] guids = IntStream.range(0, 20).mapToObj(i -> UUID.randomUUID()).toArray();
+        filterQuery = FilterQuery.from(Filter.SERVICE_PLAN_GUID, FilterOperator.IN, guids);
+
+        mapper = DecoderBenchmark.cloudControllerMapper();
+        appEnv = new CcAppEnv(mapper.readValue(Payloads.appEnv(10), Map.class));
+
+        // every tenth guid is malformed and replaced by artificial one
+        metadata = ("[" + IntStream.range(0, 100)
+            .mapToObj(i -> "{\"guid\":\"" + (i % 10 == 0 ? "not-a-guid-" + i : UUID.randomUUID()) + "\"}")
+            .collect(Collectors.joining(",")) + "]").getBytes(Util.UTF_8);
+
+        cloudFoundryError = Payloads.cloudFoundryError().getBytes(Util.UTF_8);
+        errorDecoder = new CloudFoundryErrorDecoder();
+    }
+
+    @Benchmark
+    public String filterQueryFormat() {
+        return filterQuery.format();
+    }
+
+    @Benchmark
+    public JsonNode appEnvGetValueByFilter() throws IOException {
+        return appEnv.getValueByFilter(SSO_ENDPOINT);
+    }
+
+    @Benchmark
+    public CcMetadata[] uuidDeserializer() throws IOException {
+        return mapper.readValue(metadata, CcMetadata[].class);
+    }
+
+    @Benchmark
+    public Exception cloudFoundryErrorDecoder() {
+        return errorDecoder.decode("CcOrganizationResource#getOrganization(UUID)",
+            Response.create(404, "Not Found", Collections.emptyMap(), cloudFoundryError));
+    }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caches token of a single identity, e.g. a client credentials token of a service, together
+ * with ready to send Authorization header. Concurrent requests read the cached header without
+ * locking. Expiry is taken from the exp claim of JWT tokens; shortly before it the token is
+ * fetched again in background while the cached one is still served. Opaque tokens are kept for
+ * a fixed time.
+ *
+ * <p>Do not use it with suppliers returning token of the current user, e.g. taken from
+ * security context, as every caller would get the token cached first.
+ */
+public class TokenManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenManager.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // shared by all managers, refreshes are rare and short
+    private static final Executor REFRESH_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cf-client-token-refresh-%d").build());
+
+    private final Supplier<String> tokenSupplier;
+    private final long refreshMarginMillis;
+    private final long opaqueTokenTtlMillis;
+    private final Executor executor;
+
+    private final Object refreshLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Token current;
+
+    /**
+     * Refreshes tokens a minute before they expire, opaque tokens are kept for 5 minutes.
+     * @param tokenSupplier fetches new token, e.g. from UAA
+     */
+    public TokenManager(Supplier<String> tokenSupplier) {
+        this(tokenSupplier, TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS,
+            REFRESH_EXECUTOR);
+    }
+
+    /**
+     * @param tokenSupplier fetches new token, e.g. from UAA
+     * @param refreshMargin time before expiry when token is fetched again in background
+     * @param opaqueTokenTtl time tokens without exp claim are cached for
+     * @param unit unit of refreshMargin and opaqueTokenTtl
+     * @param executor runs background refreshes
+     */
+    public TokenManager(Supplier<String> tokenSupplier, long refreshMargin, long opaqueTokenTtl, TimeUnit unit,
+        Executor executor) {
+        this.tokenSupplier = Objects.requireNonNull(tokenSupplier);
+        this.executor = Objects.requireNonNull(executor);
+        if (refreshMargin < 0 || opaqueTokenTtl < 1) {
+            throw new IllegalArgumentException("Refresh margin must not be negative and ttl must be positive");
+        }
+        this.refreshMarginMillis = unit.toMillis(refreshMargin);
+        this.opaqueTokenTtlMillis = unit.toMillis(opaqueTokenTtl);
+    }
+
+    /**
+     * @return cached token, fetched first if there is none or it expired
+     */
+    public String getToken() {
+        return valid().value;
+    }
+
+    /**
+     * @return Authorization header value with cached token
+     */
+    public String getAuthorizationHeader() {
+        return valid().header;
+    }
+
+    /**
+     * Fetches new token unless it was already replaced since given header was obtained, e.g. when
+     * a request was rejected with 401 because the token was revoked.
+     * @param staleHeader header that was rejected
+     */
+    public void refresh(String staleHeader) {
+        synchronized (refreshLock) {
+            final Token token = current;
+            if (token == null || token.header.equals(staleHeader)) {
+                current = fetch();
+            }
+        }
+    }
+
+    private Token valid() {
+        final Token token = current;
+        final long now = System.currentTimeMillis();
+        if (token == null || now >= token.expiresAt) {
+            return fetchExpired(token);
+        }
+        if (now >= token.refreshAt && refreshing.compareAndSet(false, true)) {
+            refreshInBackground();
+        }
+        return token;
+    }
+
+    private Token fetchExpired(Token expired) {
+        synchronized (refreshLock) {
+            final Token token = current;
+            if (token != expired && token != null && System.currentTimeMillis() < token.expiresAt) {
+                // fetched by another caller in the meantime
+                return token;
+            }
+            final Token fetched = fetch();
+            current = fetched;
+            return fetched;
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            executor.execute(() -> {
+                try {
+                    final Token fetched = fetch();
+                    synchronized (refreshLock) {
+                        current = fetched;
+                    }
+                } catch (RuntimeException e) {
+                    // cached token is served until it expires, next request triggers another attempt
+                    LOGGER.warn("Unable to refresh token", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            LOGGER.warn("Unable to schedule token refresh", e);
+        }
+    }
+
+    private Token fetch() {
+        final String value = Objects.requireNonNull(tokenSupplier.get(), "Token supplier returned null");
+        final long now = System.currentTimeMillis();
+        final long expiresAt = expiry(value, now);
+        final long refreshAt = Math.max(now, expiresAt - refreshMarginMillis);
+        return new Token(value, expiresAt, refreshAt);
+    }
+
+    private long expiry(String value, long now) {
+        final long exp = expClaim(value);
+        return exp > 0 ? TimeUnit.SECONDS.toMillis(exp) : now + opaqueTokenTtlMillis;
+    }
+
+    /**
+     * @return exp claim of JWT token in seconds since epoch, 0 if token is not JWT or has no exp
+     */
+    static long expClaim(String token) {
+        final String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return 0;
+        }
+        try {
+            final JsonNode claims = MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            return claims == null ? 0 : claims.path("exp").asLong(0);
+        } catch (IllegalArgumentException | IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class Token {
+        private final String value;
+        private final String header;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        private Token(String value, long expiresAt, long refreshAt) {
+            this.value = value;
+            this.header = "bearer " + value;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+}
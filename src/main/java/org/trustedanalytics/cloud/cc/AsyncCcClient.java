@@ -0,0 +1,450 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.CcBuildpack;
+import org.trustedanalytics.cloud.cc.api.CcExtendedService;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServicePlan;
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcQuota;
+import org.trustedanalytics.cloud.cc.api.CcServiceKey;
+import org.trustedanalytics.cloud.cc.api.CcSpace;
+import org.trustedanalytics.cloud.cc.api.CountKind;
+import org.trustedanalytics.cloud.cc.api.Page;
+import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryErrorDecoder;
+import org.trustedanalytics.cloud.cc.api.customizations.ConnectionPoolSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.TotalResultsDecoder;
+import org.trustedanalytics.cloud.cc.api.manageusers.CcUser;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+import org.trustedanalytics.cloud.cc.api.utils.UuidJsonDeserializer;
+
+import com.google.common.reflect.TypeParameter;
+import com.google.common.reflect.TypeToken;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.Decoder;
+import feign.codec.ErrorDecoder;
+import feign.jackson.JacksonDecoder;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscription;
+import rx.schedulers.Schedulers;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * {@link CcOperations} implementation with non-blocking I/O for read operations returning
+ * {@link Observable}: listings, single organizations and spaces, and counts. Requests are sent by
+ * Apache HttpAsyncClient, so no thread waits for a response and thousands of calls can be
+ * outstanding at once. Responses are decoded off the I/O threads. Pages are requested one at a
+ * time and only when the subscriber has consumed the previous one, so slow consumers slow down
+ * fetching instead of buffering whole collections.
+ * <p>
+ * Remaining operations are blocking and are delegated to a {@link FeignClient} configured with
+ * the same request interceptors. The client owns a connection pool and should be closed.
+ */
+public class AsyncCcClient extends ForwardingCcOperations implements Closeable {
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(30);
+    private static final int READ_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long MAX_EVICTION_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    // decoding is CPU bound and must not stall I/O dispatch threads
+    private static final Executor DECODE_EXECUTOR = ForkJoinPool.commonPool();
+
+    private final String baseUrl;
+    private final List<RequestInterceptor> interceptors;
+    private final CloseableHttpAsyncClient httpClient;
+    private final Subscription eviction;
+
+    private final Decoder decoder = new JacksonDecoder(FeignClient.createObjectMapper());
+    private final Decoder countDecoder = new TotalResultsDecoder();
+    private final ErrorDecoder errorDecoder = new CloudFoundryErrorDecoder();
+
+    /**
+     * Creates client with {@link ConnectionPoolSettings#DEFAULT} pool.
+     * @param url endpoint url
+     * @param interceptors applied to every request, e.g. adding authorization header
+     */
+    public AsyncCcClient(String url, RequestInterceptor... interceptors) {
+        this(url, ConnectionPoolSettings.DEFAULT, interceptors);
+    }
+
+    /**
+     * @param url endpoint url
+     * @param settings connection pool settings
+     * @param interceptors applied to every request, e.g. adding authorization header
+     */
+    public AsyncCcClient(String url, ConnectionPoolSettings settings, RequestInterceptor... interceptors) {
+        super(new FeignClient(url, builder -> {
+            // added one by one, so interceptors installed by defaults are kept
+            Arrays.stream(interceptors).forEach(builder::requestInterceptor);
+            return builder;
+        }));
+        Objects.requireNonNull(settings);
+        this.baseUrl = StringUtils.removeEnd(url, "/");
+        this.interceptors = Arrays.asList(interceptors);
+
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor());
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Cannot start I/O reactor", e);
+        }
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+
+        this.httpClient = HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> {
+                final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : settings.getKeepAliveMillis();
+            })
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT)
+                .setConnectionRequestTimeout(CONNECT_TIMEOUT)
+                .setSocketTimeout(READ_TIMEOUT)
+                .build())
+            .disableCookieManagement()
+            .build();
+        this.httpClient.start();
+
+        final long period = Math.min(settings.getIdleTimeoutMillis(), MAX_EVICTION_PERIOD_MILLIS);
+        final Scheduler.Worker worker = Schedulers.computation().createWorker();
+        worker.schedulePeriodically(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(settings.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+        this.eviction = worker;
+    }
+
+    @Override
+    public Observable<CcOrg> getOrg(UUID orgUUID) {
+        return get("/v2/organizations/" + orgUUID, CcOrg.class, decoder);
+    }
+
+    @Override
+    public Observable<CcOrg> getOrgs() {
+        return getOrgs(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcOrg> getOrgs(PagingOptions paging) {
+        return concatPages("/v2/organizations", paging, CcOrg.class);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpace(UUID spaceId) {
+        return get("/v2/spaces/" + spaceId, CcSpace.class, decoder);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces() {
+        return getSpaces(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(PagingOptions paging) {
+        return concatPages("/v2/spaces", paging, CcSpace.class);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(UUID org) {
+        return getSpaces(org, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(UUID org, PagingOptions paging) {
+        return concatPages("/v2/organizations/" + org + "/spaces?inline-relations-depth=1", paging, CcSpace.class);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks() {
+        return getBuildpacks(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks(PagingOptions paging) {
+        return concatPages("/v2/buildpacks", paging, CcBuildpack.class);
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota() {
+        return getQuota(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota(PagingOptions paging) {
+        return concatPages("/v2/quota_definitions", paging, CcQuota.class);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices() {
+        return getExtendedServices(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(PagingOptions paging) {
+        return concatPages("/v2/services", paging, CcExtendedService.class);
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid) {
+        return getExtendedServicePlans(serviceGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging) {
+        return concatPages("/v2/services/" + serviceGuid + "/service_plans", paging, CcExtendedServicePlan.class);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances() {
+        return getExtendedServiceInstances(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(PagingOptions paging) {
+        return concatPages("/v2/service_instances", paging, CcExtendedServiceInstance.class);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth) {
+        return getExtendedServiceInstances(depth, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth, PagingOptions paging) {
+        return concatPages("/v2/service_instances?inline-relations-depth=" + depth, paging,
+            CcExtendedServiceInstance.class);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getServices(UUID spaceGuid) {
+        return getServices(spaceGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getServices(UUID spaceGuid, PagingOptions paging) {
+        return concatPages("/v2/spaces/" + spaceGuid + "/services?inline-relations-depth=1", paging,
+            CcExtendedService.class);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid) {
+        return getOrganizationServices(orgGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid, PagingOptions paging) {
+        return concatPages("/v2/organizations/" + orgGuid + "/services", paging, CcExtendedService.class);
+    }
+
+    @Override
+    public Observable<CcServiceKey> getServiceKeys() {
+        return getServiceKeys(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcServiceKey> getServiceKeys(PagingOptions paging) {
+        return concatPages("/v2/service_keys", paging, CcServiceKey.class);
+    }
+
+    @Override
+    public Observable<CcUser> getUsers() {
+        return getUsers(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcUser> getUsers(PagingOptions paging) {
+        return concatPages("/v2/users", paging, CcUser.class)
+            .filter(user -> !user.getMetadata().getGuid().equals(UuidJsonDeserializer.ARTIFICIAL_USER_GUID));
+    }
+
+    @Override
+    public Observable<Integer> getUsersCount() {
+        return count(CountKind.USERS);
+    }
+
+    @Override
+    public Observable<Integer> getServicesCount() {
+        return count(CountKind.SERVICES);
+    }
+
+    @Override
+    public Observable<Integer> getServiceInstancesCount() {
+        return count(CountKind.SERVICE_INSTANCES);
+    }
+
+    @Override
+    public Observable<Integer> getApplicationsCount() {
+        return count(CountKind.APPLICATIONS);
+    }
+
+    @Override
+    public Observable<Integer> getBuildpacksCount() {
+        return count(CountKind.BUILDPACKS);
+    }
+
+    @Override
+    public Observable<Integer> getSpacesCount() {
+        return count(CountKind.SPACES);
+    }
+
+    @Override
+    public Observable<Integer> getOrgsCount() {
+        return count(CountKind.ORGS);
+    }
+
+    @Override
+    public Observable<Map<CountKind, Integer>> getCounts(EnumSet<CountKind> kinds) {
+        return Observable.from(EnumSet.copyOf(kinds))
+            .flatMap(kind -> count(kind).map(count -> new SimpleImmutableEntry<>(kind, count)))
+            .toMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(CountKind.class));
+    }
+
+    @Override
+    public void close() throws IOException {
+        eviction.unsubscribe();
+        httpClient.close();
+    }
+
+    private Observable<Integer> count(CountKind kind) {
+        return get("/v2/" + kind.getCollection() + "?results-per-page=1", Integer.class, countDecoder);
+    }
+
+    /**
+     * Emits resources of all pages, the next page is requested when the previous one is consumed.
+     */
+    private <T> Observable<T> concatPages(String path, PagingOptions paging, Class<T> type) {
+        return concatPages(paging.applyTo(path), paging, pageOf(type));
+    }
+
+    private <T> Observable<T> concatPages(String path, PagingOptions paging, Type pageType) {
+        return this.<Page<T>>get(path, pageType, decoder).concatMap(page -> {
+            final Observable<T> resources = Observable.from(page.getResources());
+            return page.getNextUrl() == null ? resources
+                : resources.concatWith(concatPages(paging.applyTo(page.getNextUrl()), paging, pageType));
+        });
+    }
+
+    private static <T> Type pageOf(Class<T> type) {
+        return new TypeToken<Page<T>>() {}.where(new TypeParameter<T>() {}, type).getType();
+    }
+
+    /**
+     * Sends request when subscribed, emits decoded response. Unsubscribing cancels the request.
+     */
+    private <T> Observable<T> get(String path, Type type, Decoder responseDecoder) {
+        return Observable.create(subscriber -> {
+            final HttpGet request = new HttpGet(baseUrl + path);
+            request.addHeader("Accept", "application/json");
+            final RequestTemplate template = new RequestTemplate();
+            interceptors.forEach(interceptor -> interceptor.apply(template));
+            template.headers().forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+
+            final Future<HttpResponse> future = httpClient.execute(request, new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse response) {
+                    DECODE_EXECUTOR.execute(() -> {
+                        final T result;
+                        try {
+                            result = decode(path, response, type, responseDecoder);
+                        } catch (Exception e) {
+                            subscriber.onError(e);
+                            return;
+                        }
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onNext(result);
+                            subscriber.onCompleted();
+                        }
+                    });
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    subscriber.onError(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    // only after unsubscription, nobody to notify
+                }
+            });
+            subscriber.add(Subscriptions.create(() -> future.cancel(true)));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T decode(String path, HttpResponse httpResponse, Type type, Decoder responseDecoder)
+        throws Exception {
+        final HttpEntity entity = httpResponse.getEntity();
+        final Response response = Response.create(httpResponse.getStatusLine().getStatusCode(),
+            httpResponse.getStatusLine().getReasonPhrase(), toHeaders(httpResponse),
+            entity == null ? null : EntityUtils.toByteArray(entity));
+        if (response.status() / 100 != 2) {
+            throw errorDecoder.decode("AsyncCcClient#get(" + path + ")", response);
+        }
+        return (T) responseDecoder.decode(response, type);
+    }
+
+    private static Map<String, Collection<String>> toHeaders(HttpResponse response) {
+        final Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return headers;
+    }
+}
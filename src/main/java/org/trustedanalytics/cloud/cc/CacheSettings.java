@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.CachedResource;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to live of cached entries per resource and bound of each resource cache.
+ */
+public final class CacheSettings {
+
+    /**
+     * Catalog resources (buildpacks, quota, services and plans) live 10 minutes, organizations and
+     * spaces 1 minute, at most 1000 entries per resource.
+     */
+    public static final CacheSettings DEFAULT = new CacheSettings(defaultTtls(), 1000);
+
+    private final Map<CachedResource, Long> ttlMillis;
+    private final long maximumSize;
+
+    private CacheSettings(Map<CachedResource, Long> ttlMillis, long maximumSize) {
+        this.ttlMillis = Collections.unmodifiableMap(ttlMillis);
+        this.maximumSize = maximumSize;
+    }
+
+    private static Map<CachedResource, Long> defaultTtls() {
+        final Map<CachedResource, Long> ttls = new EnumMap<>(CachedResource.class);
+        for (CachedResource resource : CachedResource.values()) {
+            ttls.put(resource, TimeUnit.MINUTES.toMillis(10));
+        }
+        ttls.put(CachedResource.ORG, TimeUnit.MINUTES.toMillis(1));
+        ttls.put(CachedResource.SPACE, TimeUnit.MINUTES.toMillis(1));
+        return ttls;
+    }
+
+    /**
+     * @param resource cached resource
+     * @param ttl time after which entry is fetched again, counted from the moment it was fetched
+     */
+    public CacheSettings withTtl(CachedResource resource, long ttl, TimeUnit unit) {
+        Objects.requireNonNull(resource);
+        if (ttl < 1) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        final Map<CachedResource, Long> ttls = new EnumMap<>(ttlMillis);
+        ttls.put(resource, unit.toMillis(ttl));
+        return new CacheSettings(ttls, maximumSize);
+    }
+
+    /**
+     * @param maximumSize maximum number of entries of a single resource, least recently used
+     * entries are evicted first
+     */
+    public CacheSettings withMaximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        return new CacheSettings(ttlMillis, maximumSize);
+    }
+
+    public long getTtlMillis(CachedResource resource) {
+        return ttlMillis.get(resource);
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheSettings [ttlMillis=%s, maximumSize=%d]", ttlMillis, maximumSize);
+    }
+}
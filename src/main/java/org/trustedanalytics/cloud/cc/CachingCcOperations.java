@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.CachedResource;
+import org.trustedanalytics.cloud.cc.api.CcBuildpack;
+import org.trustedanalytics.cloud.cc.api.CcExtendedService;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServicePlan;
+import org.trustedanalytics.cloud.cc.api.CcNewServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcPlanVisibility;
+import org.trustedanalytics.cloud.cc.api.CcQuota;
+import org.trustedanalytics.cloud.cc.api.CcSpace;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import rx.Observable;
+
+/**
+ * Caches read-mostly resources (buildpacks, quota, service catalog, single organizations and
+ * spaces) in front of another client. Concurrent requests for an entry that is not cached yet
+ * are coalesced into a single Cloud Controller call. Mutating calls made through this client
+ * invalidate entries they may affect, changes made by other clients become visible when entries
+ * expire, see {@link CacheSettings}. Cached entities are shared between callers and must not be
+ * modified.
+ */
+public class CachingCcOperations extends ForwardingCcOperations {
+
+    private final Map<CachedResource, Cache<Object, List<?>>> caches = new EnumMap<>(CachedResource.class);
+    private final ClientMetrics metrics;
+
+    public CachingCcOperations(CcOperations delegate) {
+        this(delegate, CacheSettings.DEFAULT);
+    }
+
+    public CachingCcOperations(CcOperations delegate, CacheSettings settings) {
+        this(delegate, settings, ClientMetrics.NONE);
+    }
+
+    /**
+     * @param metrics receives every cache access, caches are named after {@link CachedResource}
+     */
+    public CachingCcOperations(CcOperations delegate, CacheSettings settings, ClientMetrics metrics) {
+        super(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+        for (CachedResource resource : CachedResource.values()) {
+            caches.put(resource, CacheBuilder.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTtlMillis(resource), TimeUnit.MILLISECONDS)
+                .build());
+        }
+    }
+
+    /**
+     * Drops all cached entries of given resource.
+     */
+    public void invalidate(CachedResource resource) {
+        caches.get(resource).invalidateAll();
+    }
+
+    /**
+     * Drops all cached entries.
+     */
+    public void invalidateAll() {
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks() {
+        return cached(CachedResource.BUILDPACKS, PagingOptions.DEFAULT, delegate::getBuildpacks);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks(PagingOptions paging) {
+        return cached(CachedResource.BUILDPACKS, paging, () -> delegate.getBuildpacks(paging));
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota() {
+        return cached(CachedResource.QUOTA, PagingOptions.DEFAULT, delegate::getQuota);
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota(PagingOptions paging) {
+        return cached(CachedResource.QUOTA, paging, () -> delegate.getQuota(paging));
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices() {
+        return cached(CachedResource.SERVICES, PagingOptions.DEFAULT, delegate::getExtendedServices);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(PagingOptions paging) {
+        return cached(CachedResource.SERVICES, paging, () -> delegate.getExtendedServices(paging));
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid) {
+        return cached(CachedResource.SERVICE_PLANS, Arrays.asList(serviceGuid, PagingOptions.DEFAULT),
+            () -> delegate.getExtendedServicePlans(serviceGuid));
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging) {
+        return cached(CachedResource.SERVICE_PLANS, Arrays.asList(serviceGuid, paging),
+            () -> delegate.getExtendedServicePlans(serviceGuid, paging));
+    }
+
+    @Override
+    public Observable<CcOrg> getOrg(UUID orgUUID) {
+        return cached(CachedResource.ORG, orgUUID, () -> delegate.getOrg(orgUUID));
+    }
+
+    @Override
+    public Observable<CcSpace> getSpace(UUID spaceId) {
+        return cached(CachedResource.SPACE, spaceId, () -> delegate.getSpace(spaceId));
+    }
+
+    @Override
+    public void renameOrg(UUID orgId, String name) {
+        delegate.renameOrg(orgId, name);
+        caches.get(CachedResource.ORG).invalidate(orgId);
+    }
+
+    @Override
+    public void deleteOrg(UUID orgGuid) {
+        delegate.deleteOrg(orgGuid);
+        caches.get(CachedResource.ORG).invalidate(orgGuid);
+    }
+
+    @Override
+    public void deleteSpace(UUID spaceGuid) {
+        delegate.deleteSpace(spaceGuid);
+        caches.get(CachedResource.SPACE).invalidate(spaceGuid);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> createServiceInstance(CcNewServiceInstance serviceInstance) {
+        return delegate.createServiceInstance(serviceInstance)
+            .doOnTerminate(this::invalidateServiceCatalog);
+    }
+
+    @Override
+    public void deleteServiceInstance(UUID instanceGuid) {
+        delegate.deleteServiceInstance(instanceGuid);
+        invalidateServiceCatalog();
+    }
+
+    @Override
+    public Observable<CcPlanVisibility> setExtendedServicePlanVisibility(UUID servicePlanGuid,
+        UUID organizationGuid) {
+        return delegate.setExtendedServicePlanVisibility(servicePlanGuid, organizationGuid)
+            .doOnTerminate(this::invalidateServiceCatalog);
+    }
+
+    private void invalidateServiceCatalog() {
+        invalidate(CachedResource.SERVICES);
+        invalidate(CachedResource.SERVICE_PLANS);
+    }
+
+    private <T> Observable<T> cached(CachedResource resource, Object key, Supplier<Observable<T>> load) {
+        return Observable.defer(() -> Observable.from(get(resource, key, load)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> get(CachedResource resource, Object key, Supplier<Observable<T>> load) {
+        final Cache<Object, List<?>> cache = caches.get(resource);
+        final List<?> cached = cache.getIfPresent(key);
+        metrics.cacheAccessed(resource.name(), cached != null);
+        if (cached != null) {
+            return (List<T>) cached;
+        }
+        try {
+            // concurrent callers of the same key wait for a single load
+            return (List<T>) cache.get(key,
+                () -> Collections.unmodifiableList(load.get().toList().toBlocking().single()));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.cloudfoundry.client.lib.util.JsonUtil;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestOperations;
+import org.trustedanalytics.cloud.cc.api.BulkBindingOptions;
+import org.trustedanalytics.cloud.cc.api.BulkBindingResult;
 import org.trustedanalytics.cloud.cc.api.CcAppEnv;
 import org.trustedanalytics.cloud.cc.api.CcAppStatus;
 import org.trustedanalytics.cloud.cc.api.CcAppSummary;
@@ -47,18 +49,24 @@ import org.trustedanalytics.cloud.cc.api.CcServiceKey;
 import org.trustedanalytics.cloud.cc.api.CcSpace;
 import org.trustedanalytics.cloud.cc.api.CcSpacesList;
 import org.trustedanalytics.cloud.cc.api.CcSummary;
+import org.trustedanalytics.cloud.cc.api.CountKind;
 import org.trustedanalytics.cloud.cc.api.Page;
 import org.trustedanalytics.cloud.cc.api.manageusers.CcUser;
 import org.trustedanalytics.cloud.cc.api.manageusers.CcOrgUsersList;
 import org.trustedanalytics.cloud.cc.api.manageusers.Role;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChange;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChangeResult;
 import org.trustedanalytics.cloud.cc.api.manageusers.User;
 import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import org.trustedanalytics.cloud.cc.api.CcPlanVisibility;
 import rx.Observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -399,6 +407,10 @@ public class CcClient implements CcOperations {
         throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
     }
 
+    @Override public Observable<Map<CountKind, Integer>> getCounts(EnumSet<CountKind> kinds) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
     @Override public Observable<Integer> getSpacesCount() {
         throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
     }
@@ -618,6 +630,111 @@ public class CcClient implements CcOperations {
                     new ArrayList<>(asList(role)))).collect(toList());
     }
 
+    @Override public Observable<CcOrg> getOrgs(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcSpace> getSpaces(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcSpace> getSpaces(UUID org, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedService> getServices(UUID spaceGuid, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedService> getExtendedServices(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery,
+        PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth,
+        PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery,
+        int depth, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcServiceKey> getServiceKeys(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery,
+        PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcUser> getUsers(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<User> getOrgUsersWithRoles(UUID orgGuid, PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcQuota> getQuota(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Observable<CcBuildpack> getBuildpacks(PagingOptions paging) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public Map<UUID, Collection<CcOrgPermission>> getUserPermissions(Collection<UUID> users,
+        Collection<UUID> orgIDs) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override
+    public BulkBindingResult<CcNewServiceBinding> createServiceBindings(Collection<CcNewServiceBinding> bindings,
+        BulkBindingOptions options) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override
+    public BulkBindingResult<CcServiceBinding> deleteServiceBindings(Collection<CcServiceBinding> bindings,
+        BulkBindingOptions options) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
+    @Override public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes, int parallelism) {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MSG + FeignClient.class.getName());
+    }
+
     private void revokeUserRole(String type, UUID userGuid, UUID orgSpaceGuid, Role role) {
         updateUserRole(type, userGuid, orgSpaceGuid, role, template::delete);
     }
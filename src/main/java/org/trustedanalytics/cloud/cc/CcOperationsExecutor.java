@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.CcAppSummary;
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcServiceBindingList;
+import org.trustedanalytics.cloud.cc.api.CcSummary;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs blocking {@link CcOperations} calls in background and exposes them as
+ * {@link CompletableFuture}s. Every call gets its own virtual thread when the JVM supports them
+ * (Java 21 and newer), otherwise one of {@code maxConcurrency} pooled platform threads. At most
+ * {@code maxConcurrency} calls talk to the Cloud Controller at the same time, the rest wait
+ * for a permit or in the pool's queue, never on the caller's thread.
+ * <pre>
+ * {@code
+ * CompletableFuture<CcSummary> summary = executor.submit(cc -> cc.getSpaceSummary(spaceGuid));
+ * CompletableFuture<List<CcOrg>> orgs = executor.submit(cc -> cc.getOrgs().toList().toBlocking().single());
+ * }
+ * </pre>
+ */
+public class CcOperationsExecutor implements AutoCloseable {
+
+    private final CcOperations delegate;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    /**
+     * Creates executor running every call on a new virtual thread when available, otherwise on
+     * a fixed pool of {@code maxConcurrency} threads.
+     * @param delegate client performing calls
+     * @param maxConcurrency maximum number of calls running at the same time
+     */
+    public CcOperationsExecutor(CcOperations delegate, int maxConcurrency) {
+        this(delegate, threadPerTaskExecutor(maxConcurrency), maxConcurrency);
+    }
+
+    /**
+     * @param delegate client performing calls
+     * @param executor executor running calls, shut down on {@link #close()}
+     * @param maxConcurrency maximum number of calls running at the same time
+     */
+    public CcOperationsExecutor(CcOperations delegate, ExecutorService executor, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.executor = Objects.requireNonNull(executor);
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Runs any operation of the client in background.
+     * @param call operation, e.g. {@code cc -> cc.getAppSummary(app)}
+     * @return result of the operation, completed exceptionally with exception thrown by the call
+     */
+    public <T> CompletableFuture<T> submit(Function<CcOperations, T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return call.apply(delegate);
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs operation without result in background.
+     * @param call operation, e.g. {@code cc -> cc.deleteSpace(space)}
+     */
+    public CompletableFuture<Void> run(Consumer<CcOperations> call) {
+        return submit(cc -> {
+            call.accept(cc);
+            return null;
+        });
+    }
+
+    public CompletableFuture<CcAppSummary> getAppSummary(UUID app) {
+        return submit(cc -> cc.getAppSummary(app));
+    }
+
+    public CompletableFuture<CcSummary> getSpaceSummary(UUID spaceGuid) {
+        return submit(cc -> cc.getSpaceSummary(spaceGuid));
+    }
+
+    public CompletableFuture<Collection<CcOrg>> getUserOrgs(UUID user) {
+        return submit(cc -> cc.getUserOrgs(user));
+    }
+
+    public CompletableFuture<CcServiceBindingList> getAppBindings(UUID app) {
+        return submit(cc -> cc.getAppBindings(app));
+    }
+
+    /**
+     * @return number of calls that can start immediately
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Virtual threads are looked up reflectively, the library is compiled for Java 8. Platform
+     * threads are bounded, waiting for a permit would otherwise start a thread for every call.
+     */
+    private static ExecutorService threadPerTaskExecutor(int maxConcurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(maxConcurrency, 1),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cf-client-call-%d").build());
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.trustedanalytics.cloud.cc;
 
+import org.trustedanalytics.cloud.cc.api.BulkBindingOptions;
+import org.trustedanalytics.cloud.cc.api.BulkBindingResult;
 import org.trustedanalytics.cloud.cc.api.CcAppEnv;
 import org.trustedanalytics.cloud.cc.api.CcAppStatus;
 import org.trustedanalytics.cloud.cc.api.CcAppSummary;
@@ -37,49 +39,93 @@ import org.trustedanalytics.cloud.cc.api.CcServiceBindingList;
 import org.trustedanalytics.cloud.cc.api.CcServiceKey;
 import org.trustedanalytics.cloud.cc.api.CcSpace;
 import org.trustedanalytics.cloud.cc.api.CcSummary;
+import org.trustedanalytics.cloud.cc.api.CountKind;
 import org.trustedanalytics.cloud.cc.api.Page;
 import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryErrorDecoder;
+import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryException;
+import org.trustedanalytics.cloud.cc.api.customizations.ComposableBuilder;
+import org.trustedanalytics.cloud.cc.api.customizations.FeignResponseException;
+import org.trustedanalytics.cloud.cc.api.customizations.MeteredClient;
+import org.trustedanalytics.cloud.cc.api.customizations.PagingRequestInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.TotalResultsDecoder;
 import org.trustedanalytics.cloud.cc.api.loggers.ScramblingSlf4jLogger;
 import org.trustedanalytics.cloud.cc.api.manageusers.CcOrgUser;
 import org.trustedanalytics.cloud.cc.api.manageusers.CcOrgUsersList;
 import org.trustedanalytics.cloud.cc.api.manageusers.CcUser;
 import org.trustedanalytics.cloud.cc.api.manageusers.Role;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChange;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChangeResult;
 import org.trustedanalytics.cloud.cc.api.manageusers.User;
 import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import org.trustedanalytics.cloud.cc.api.resources.CcApplicationResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcBuildpacksResource;
+import org.trustedanalytics.cloud.cc.api.resources.CcCountResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcOrganizationResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcQuotaResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcServiceBindingResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcServiceResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcSpaceResource;
 import org.trustedanalytics.cloud.cc.api.resources.CcUserResource;
+import org.trustedanalytics.cloud.cc.api.utils.PagePrefetcher;
+import org.trustedanalytics.cloud.cc.api.utils.PageUrls;
 import org.trustedanalytics.cloud.cc.api.utils.UuidJsonDeserializer;
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+import org.trustedanalytics.cloud.metrics.Operations;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy.LowerCaseWithUnderscoresStrategy;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-import feign.Feign;
+import feign.Client;
 import feign.Feign.Builder;
+import feign.FeignException;
 import feign.Request;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 
 import org.apache.commons.lang.StringUtils;
+import org.springframework.http.HttpStatus;
 
 import java.net.URI;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
 
 public class FeignClient implements CcOperations {
     private static final Map<Role, String> ROLE_MAP = ImmutableMap.<Role, String>builder()
@@ -91,6 +137,13 @@ public class FeignClient implements CcOperations {
     private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(30);
     private static final int READ_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
 
+    // users or organizations processed at the same time by bulk operations
+    private static final int BULK_PARALLELISM = 8;
+
+    // shared by all clients, parallelism is bounded per traversal or batch
+    private static final ExecutorService REQUEST_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cf-client-request-%d").build());
+
     // We do a lot of delegation here because of https://github.com/Netflix/feign/issues/133
     private final CcApplicationResource applicationResource;
     private final CcOrganizationResource organizationResource;
@@ -100,6 +153,10 @@ public class FeignClient implements CcOperations {
     private final CcUserResource userResource;
     private final CcBuildpacksResource buildpackResource;
     private final CcQuotaResource quotaResource;
+    private final CcCountResource countResource;
+
+    private final int pagePrefetchParallelism;
+    private final ClientMetrics metrics;
 
     /**
      * Creates client applying default configuration
@@ -117,29 +174,56 @@ public class FeignClient implements CcOperations {
      * template.header("Authorization", "bearer " + token)));
      * }
      * </pre>
+     * See {@link FeignClientPresets} for ready to use customizations, e.g. pooled transport.
      * @param url endpoint url
      * @param customizations custom configuration that should be applied after defaults
      */
     public FeignClient(String url, Function<Builder, Builder> customizations) {
+        this(url, customizations, 1);
+    }
+
+    /**
+     * Creates client applying default configuration and then customizations. Paged collections
+     * are fetched concurrently: once the first page is received the remaining ones are requested
+     * with at most {@code pagePrefetchParallelism} requests in flight. Resources are still
+     * emitted in order.
+     * @param url endpoint url
+     * @param customizations custom configuration that should be applied after defaults
+     * @param pagePrefetchParallelism maximum number of pages fetched at the same time, 1 fetches
+     * pages one after another
+     */
+    public FeignClient(String url, Function<Builder, Builder> customizations, int pagePrefetchParallelism) {
+        this(url, customizations, pagePrefetchParallelism, ClientMetrics.NONE);
+    }
+
+    /**
+     * Creates client applying default configuration and then customizations, reporting
+     * measurements of its calls to given metrics: latency, status and size of every response,
+     * see {@link MeteredClient}, and number of pages of every traversed collection. Requests are
+     * metered over the transport installed by customizations, or the default one.
+     * @param url endpoint url
+     * @param customizations custom configuration that should be applied after defaults
+     * @param pagePrefetchParallelism maximum number of pages fetched at the same time, 1 fetches
+     * pages one after another
+     * @param metrics receiver of measurements
+     */
+    public FeignClient(String url, Function<Builder, Builder> customizations, int pagePrefetchParallelism,
+        ClientMetrics metrics) {
         Objects.requireNonNull(url);
         Objects.requireNonNull(customizations);
+        Objects.requireNonNull(metrics);
+        if (pagePrefetchParallelism < 1) {
+            throw new IllegalArgumentException("Page prefetch parallelism must be positive");
+        }
+        this.pagePrefetchParallelism = pagePrefetchParallelism;
+        this.metrics = metrics;
 
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-        mapper.setPropertyNamingStrategy(new LowerCaseWithUnderscoresStrategy());
+        final ObjectMapper mapper = createObjectMapper();
 
         // avoid duplication of slashes
         final String targetUrl = StringUtils.removeEnd(url, "/");
 
-        // first applies defaults and then custom configuration
-        final Builder builder = customizations.apply(Feign.builder()
-                .encoder(new JacksonEncoder())
-                .decoder(new JacksonDecoder(mapper))
-                .options(new Request.Options(CONNECT_TIMEOUT, READ_TIMEOUT))
-                .logger(new ScramblingSlf4jLogger(FeignClient.class))
-                .logLevel(feign.Logger.Level.BASIC)
-                .errorDecoder(new CloudFoundryErrorDecoder()));
-
+        final Builder builder = configure(mapper, customizations);
         this.applicationResource = builder.target(CcApplicationResource.class, targetUrl);
         this.organizationResource = builder.target(CcOrganizationResource.class, targetUrl);
         this.serviceResource = builder.target(CcServiceResource.class, targetUrl);
@@ -148,6 +232,42 @@ public class FeignClient implements CcOperations {
         this.userResource = builder.target(CcUserResource.class, targetUrl);
         this.buildpackResource = builder.target(CcBuildpacksResource.class, targetUrl);
         this.quotaResource = builder.target(CcQuotaResource.class, targetUrl);
+        // counts need only total_results, the rest of the page is never parsed; own builder, so
+        // the decoder does not leak to resources targeted later
+        this.countResource = configure(mapper, customizations).decoder(new TotalResultsDecoder())
+                .target(CcCountResource.class, targetUrl);
+    }
+
+    private Builder configure(ObjectMapper mapper, Function<Builder, Builder> customizations) {
+        final Builder defaults = new ComposableBuilder()
+                .encoder(new JacksonEncoder())
+                .decoder(new JacksonDecoder(mapper))
+                .options(new Request.Options(CONNECT_TIMEOUT, READ_TIMEOUT))
+                .logger(new ScramblingSlf4jLogger(FeignClient.class))
+                .logLevel(feign.Logger.Level.BASIC)
+                .errorDecoder(new CloudFoundryErrorDecoder())
+                .requestInterceptor(new PagingRequestInterceptor());
+
+        // first applies defaults and then custom configuration
+        final Builder builder = customizations.apply(defaults);
+        if (metrics != ClientMetrics.NONE && builder instanceof ComposableBuilder) {
+            // wraps transport of customizations too, e.g. pooled or traced one
+            final Client transport = ((ComposableBuilder) builder).getClient();
+            if (!(transport instanceof MeteredClient)) {
+                builder.client(new MeteredClient(transport, metrics));
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * @return mapper configured for Cloud Controller responses
+     */
+    static ObjectMapper createObjectMapper() {
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setPropertyNamingStrategy(new LowerCaseWithUnderscoresStrategy());
+        return mapper;
     }
 
     @Override public CcAppSummary getAppSummary(UUID app) {
@@ -180,6 +300,65 @@ public class FeignClient implements CcOperations {
         serviceBindingResource.deleteServiceBinding(bindingGuid);
     }
 
+    @Override
+    public BulkBindingResult<CcNewServiceBinding> createServiceBindings(Collection<CcNewServiceBinding> bindings,
+        BulkBindingOptions options) {
+        return changeServiceBindings(bindings, this::createServiceBinding, options);
+    }
+
+    @Override
+    public BulkBindingResult<CcServiceBinding> deleteServiceBindings(Collection<CcServiceBinding> bindings,
+        BulkBindingOptions options) {
+        return changeServiceBindings(bindings, binding -> {
+            deleteServiceBinding(binding.getMetadata().getGuid());
+            return binding;
+        }, options);
+    }
+
+    /**
+     * Applies all changes before restaging, so an application bound to several changed
+     * instances is restaged once.
+     */
+    private <T> BulkBindingResult<T> changeServiceBindings(Collection<T> changes,
+        Function<T, CcServiceBinding> change, BulkBindingOptions options) {
+        final Scheduler scheduler = Schedulers.from(REQUEST_EXECUTOR);
+        final List<CcServiceBinding> bindings = Collections.synchronizedList(new ArrayList<>());
+        final Map<T, RuntimeException> failures = new ConcurrentHashMap<>();
+        forEachConcurrently(changes, options.getParallelism(), scheduler, item -> {
+            try {
+                bindings.add(change.apply(item));
+            } catch (RuntimeException e) {
+                failures.put(item, e);
+            }
+        });
+
+        final Set<UUID> apps = options.isRestage()
+            ? bindings.stream().map(binding -> binding.getEntity().getAppGuid()).collect(Collectors.toSet())
+            : ImmutableSet.of();
+        final Set<UUID> restaged = ConcurrentHashMap.newKeySet();
+        final Map<UUID, RuntimeException> restageFailures = new ConcurrentHashMap<>();
+        forEachConcurrently(apps, options.getParallelism(), scheduler, app -> {
+            try {
+                restageApp(app);
+                restaged.add(app);
+            } catch (RuntimeException e) {
+                restageFailures.put(app, e);
+            }
+        });
+        return new BulkBindingResult<>(bindings, failures, restaged, restageFailures);
+    }
+
+    private static <T> void forEachConcurrently(Collection<T> items, int parallelism, Scheduler scheduler,
+        Consumer<T> action) {
+        Observable.from(items)
+            .flatMap(item -> Observable.defer(() -> {
+                action.accept(item);
+                return Observable.just(item);
+            }).subscribeOn(scheduler), parallelism)
+            .toList()
+            .toBlocking().single();
+    }
+
     @Override public void createUser(UUID userGuid) {
         userResource.createUser(userGuid);
     }
@@ -208,31 +387,99 @@ public class FeignClient implements CcOperations {
 
     @Override
     public Observable<CcOrg> getOrgs() {
-        return Observable.defer(() -> concatPages(organizationResource.getOrgs(), organizationResource::getOrgs));
+        return getOrgs(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcOrg> getOrgs(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> organizationResource.getOrgs(), paging, organizationResource::getOrgs));
     }
 
     @Override
     public Observable<CcSpace> getSpaces() {
-        return Observable.defer(() -> concatPages(spaceResource.getSpaces(), spaceResource::getSpaces));
+        return getSpaces(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> spaceResource.getSpaces(), paging, spaceResource::getSpaces));
+    }
+
+    /**
+     * Requests first page and follows next_url, sending paging options with every request, see
+     * {@link PagingRequestInterceptor}.
+     */
+    private <T> Observable<T> concatPages(Supplier<Page<T>> first, PagingOptions paging,
+        Function<URI, Page<T>> more) {
+        final AtomicInteger pages = new AtomicInteger();
+        final AtomicReference<String> traversal = new AtomicReference<>();
+        final Function<URI, Page<T>> pagedMore = url -> {
+            pages.incrementAndGet();
+            return PagingRequestInterceptor.withPaging(paging, () -> more.apply(url));
+        };
+
+        // reported once, when traversal completes or subscriber unsubscribes
+        final AtomicBoolean reported = new AtomicBoolean();
+        final Action0 report = () -> {
+            if (traversal.get() != null && reported.compareAndSet(false, true)) {
+                metrics.pagesFetched(Operations.pathTemplate(traversal.get()), pages.get());
+            }
+        };
+        return Observable.defer(() -> {
+            pages.incrementAndGet();
+            return concatPages(PagingRequestInterceptor.withPaging(paging,
+                path -> traversal.compareAndSet(null, path), first), pagedMore);
+        }).doOnTerminate(report).doOnUnsubscribe(report);
     }
 
     private <T> Observable<T> concatPages(Page<T> page, Function<URI, Page<T>> more) {
+        return Observable.from(page.getResources()).concatWith(Observable.defer(() -> nextPages(page, more)));
+    }
+
+    /**
+     * Requests page and emits its resources once it is fully decoded and the response closed.
+     */
+    private <T> Observable<T> fetchPages(URI url, Function<URI, Page<T>> more) {
+        return Observable.defer(() -> concatPages(more.apply(url), more));
+    }
+
+    private <T> Observable<T> nextPages(Page<T> page, Function<URI, Page<T>> more) {
         if (page.getNextUrl() == null) {
-            return Observable.from(page.getResources());
+            return Observable.empty();
+        }
+
+        final OptionalInt nextPage = PageUrls.pageNumber(page.getNextUrl());
+        if (pagePrefetchParallelism > 1 && nextPage.isPresent() && nextPage.getAsInt() < page.getTotalPages()) {
+            return prefetchPages(page.getNextUrl(), nextPage.getAsInt(), page.getTotalPages(), more);
         } else {
-            final URI nextUrl = URI.create(page.getNextUrl());
-            return Observable.from(page.getResources())
-                    .concatWith(Observable.defer(() -> concatPages(more.apply(nextUrl), more)));
+            return fetchPages(URI.create(page.getNextUrl()), more);
         }
     }
 
+    private <T> Observable<T> prefetchPages(String pageUrl, int firstPage, int lastPage, Function<URI, Page<T>> more) {
+        return Observable.defer(() -> {
+            final PagePrefetcher<T> prefetcher = new PagePrefetcher<>(firstPage, lastPage,
+                    number -> more.apply(URI.create(PageUrls.withPageNumber(pageUrl, number))).getResources(),
+                    REQUEST_EXECUTOR, pagePrefetchParallelism);
+
+            return Observable.range(firstPage, lastPage - firstPage + 1)
+                    .concatMap(number -> Observable.defer(() -> Observable.from(prefetcher.take(number))))
+                    .doOnUnsubscribe(prefetcher::cancel);
+        });
+    }
+
     @Override
     public Observable<CcSpace> getSpace(UUID spaceId) {
         return Observable.defer(() -> Observable.just(spaceResource.getSpace(spaceId)));
     }
 
     @Override public Observable<CcSpace> getSpaces(UUID org) {
-        return Observable.defer(() -> concatPages(organizationResource.getSpacesForOrganization(org), spaceResource::getSpaces));
+        return getSpaces(org, PagingOptions.DEFAULT);
+    }
+
+    @Override public Observable<CcSpace> getSpaces(UUID org, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> organizationResource.getSpacesForOrganization(org),
+                paging, spaceResource::getSpaces));
     }
 
     @Override public Collection<CcOrg> getManagedOrganizations(UUID user) {
@@ -267,53 +514,101 @@ public class FeignClient implements CcOperations {
 
     @Override
     public Observable<CcExtendedService> getExtendedServices() {
-        return Observable.defer(() -> concatPages(serviceResource.getServices(), serviceResource::getServices));
+        return getExtendedServices(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getServices(), paging, serviceResource::getServices));
     }
 
     @Override
     public Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery) {
-        return Observable.defer(() -> concatPages(serviceResource.getServices(filterQuery), serviceResource::getServices));
+        return getExtendedServices(filterQuery, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getServices(filterQuery), paging,
+                serviceResource::getServices));
     }
 
     @Override
     public Observable<CcExtendedServiceInstance> getExtendedServiceInstances() {
-        return Observable.defer(() -> concatPages(serviceResource.getExtendedServiceInstances(),
+        return getExtendedServiceInstances(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getExtendedServiceInstances(), paging,
                 serviceResource::getExtendedServiceInstances));
     }
 
     @Override
     public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery) {
-        return Observable.defer(() -> concatPages(serviceResource.getExtendedServiceInstances(filterQuery),
+        return getExtendedServiceInstances(filterQuery, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery,
+        PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getExtendedServiceInstances(filterQuery), paging,
                 serviceResource::getExtendedServiceInstances));
     }
 
     @Override
     public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth) {
-        return Observable.defer(() -> concatPages(serviceResource.getExtendedServiceInstances(depth),
+        return getExtendedServiceInstances(depth, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getExtendedServiceInstances(depth), paging,
             serviceResource::getExtendedServiceInstances));
     }
 
     @Override
     public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth) {
-        return Observable.defer(() -> concatPages(serviceResource.getExtendedServiceInstances(filterQuery, depth),
-            serviceResource::getExtendedServiceInstances));
+        return getExtendedServiceInstances(filterQuery, depth, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth,
+        PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getExtendedServiceInstances(filterQuery, depth),
+                paging, serviceResource::getExtendedServiceInstances));
     }
 
     @Override
     public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid) {
-        return Observable.defer(() -> concatPages(serviceResource.getExtendedServicePlans(serviceGuid),
+        return getExtendedServicePlans(serviceGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getExtendedServicePlans(serviceGuid), paging,
             serviceResource::getExtendedServicePlans));
     }
 
     @Override
     public Observable<CcExtendedService> getServices(UUID spaceGuid) {
-        return Observable.defer(() -> concatPages(spaceResource.getServices(spaceGuid),
-                spaceResource::getServices));
+        return getServices(spaceGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getServices(UUID spaceGuid, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> spaceResource.getServices(spaceGuid),
+                paging, spaceResource::getServices));
     }
 
     @Override
     public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid) {
-        return Observable.defer(() -> concatPages(organizationResource.getOrganizationServices(orgGuid),
+        return getOrganizationServices(orgGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> organizationResource.getOrganizationServices(orgGuid), paging,
                 organizationResource::getOrganizationServices));
     }
 
@@ -327,8 +622,11 @@ public class FeignClient implements CcOperations {
     }
 
     @Override public Observable<CcServiceKey> getServiceKeys() {
-        return Observable.defer(() -> concatPages(serviceResource.getServiceKeys(),
-                serviceResource::getServiceKeys));
+        return getServiceKeys(PagingOptions.DEFAULT);
+    }
+
+    @Override public Observable<CcServiceKey> getServiceKeys(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getServiceKeys(), paging, serviceResource::getServiceKeys));
     }
 
     @Override public Observable<CcServiceKey> createServiceKey(CcNewServiceKey serviceKey) {
@@ -347,7 +645,13 @@ public class FeignClient implements CcOperations {
 
     @Override
     public Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery) {
-        return Observable.defer(() -> concatPages(serviceResource.getServicePlanVisibility(filterQuery),
+        return getExtendedServicePlanVisibility(filterQuery, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery,
+        PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> serviceResource.getServicePlanVisibility(filterQuery), paging,
                 serviceResource::getServicePlanVisibility));
     }
 
@@ -368,27 +672,108 @@ public class FeignClient implements CcOperations {
     }
 
     @Override public Collection<CcOrgPermission> getUserPermissions(UUID user, Collection<UUID> orgsFilter) {
-        Collection<CcOrg> orgs = userResource.getUserOrganizations(user).getOrgs();
+        return userPermissions(user, ImmutableSet.copyOf(orgsFilter));
+    }
 
-        if(!orgsFilter.isEmpty()) {
-            orgs.removeIf(ccOrg -> !orgsFilter.contains(ccOrg.getGuid()));
-        }
+    @Override
+    public Map<UUID, Collection<CcOrgPermission>> getUserPermissions(Collection<UUID> users,
+        Collection<UUID> orgsFilter) {
+        final Set<UUID> orgs = ImmutableSet.copyOf(orgsFilter);
+        final Scheduler scheduler = Schedulers.from(REQUEST_EXECUTOR);
+        final Map<UUID, Collection<CcOrgPermission>> permissions = orgs.isEmpty()
+            ? Observable.from(ImmutableSet.copyOf(users))
+                .flatMap(user -> Observable.defer(() -> Observable.just(userPermissions(user, orgs)))
+                    .subscribeOn(scheduler)
+                    .map(userPermissions -> new SimpleImmutableEntry<>(user, userPermissions)), BULK_PARALLELISM)
+                .toMap(Map.Entry::getKey, Map.Entry::getValue)
+                .toBlocking().single()
+            : permissionsFromOrgRoles(users, orgs, scheduler);
 
-        Collection<CcOrg> managedOrganizations = getManagedOrganizations(user);
-        Collection<CcOrg> auditedOrganizations = getAuditedOrganizations(user);
-        Collection<CcOrg> billingManagedOrganizations = getBillingManagedOrganizations(user);
+        // keep order of given users
+        final Map<UUID, Collection<CcOrgPermission>> ordered = new LinkedHashMap<>();
+        users.forEach(user -> ordered.put(user, permissions.get(user)));
+        return ordered;
+    }
 
-        Collection<CcOrgPermission> permissions = new ArrayList<>();
-        orgs.forEach(org -> {
-            boolean isManager = managedOrganizations.contains(org);
-            boolean isAuditor = auditedOrganizations.contains(org);
-            boolean isBillingManager = billingManagedOrganizations.contains(org);
-            permissions.add(new CcOrgPermission(org, isManager, isAuditor, isBillingManager));
-        });
+    /**
+     * Four role queries of a single user are sent concurrently.
+     */
+    private Collection<CcOrgPermission> userPermissions(UUID user, Set<UUID> orgsFilter) {
+        final CompletableFuture<Collection<CcOrg>> orgs =
+            CompletableFuture.supplyAsync(() -> getUserOrgs(user), REQUEST_EXECUTOR);
+        final CompletableFuture<Set<UUID>> managed =
+            CompletableFuture.supplyAsync(() -> guids(getManagedOrganizations(user)), REQUEST_EXECUTOR);
+        final CompletableFuture<Set<UUID>> audited =
+            CompletableFuture.supplyAsync(() -> guids(getAuditedOrganizations(user)), REQUEST_EXECUTOR);
+        final CompletableFuture<Set<UUID>> billingManaged =
+            CompletableFuture.supplyAsync(() -> guids(getBillingManagedOrganizations(user)), REQUEST_EXECUTOR);
+
+        final Set<UUID> managedGuids = join(managed);
+        final Set<UUID> auditedGuids = join(audited);
+        final Set<UUID> billingManagedGuids = join(billingManaged);
+        return join(orgs).stream()
+            .filter(org -> orgsFilter.isEmpty() || orgsFilter.contains(org.getGuid()))
+            .map(org -> new CcOrgPermission(org, managedGuids.contains(org.getGuid()),
+                auditedGuids.contains(org.getGuid()), billingManagedGuids.contains(org.getGuid())))
+            .collect(Collectors.toList());
+    }
 
+    /**
+     * Reads roles of all members of each organization, which takes a request per organization
+     * instead of four per user. Organizations that are missing or cannot be read are skipped, as
+     * they are absent from organizations of a single user.
+     */
+    private Map<UUID, Collection<CcOrgPermission>> permissionsFromOrgRoles(Collection<UUID> users,
+        Set<UUID> orgs, Scheduler scheduler) {
+        final Map<UUID, SimpleImmutableEntry<CcOrg, Map<UUID, List<Role>>>> rolesByOrg = Observable.from(orgs)
+            .flatMap(org -> Observable.zip(getOrg(org),
+                getOrgUsersWithRoles(org, PagingOptions.maxResultsPerPage()).toMap(User::getGuid, User::getRoles),
+                SimpleImmutableEntry::new)
+                .onErrorResumeNext(e -> isForbiddenOrMissing(e) ? Observable.empty() : Observable.error(e))
+                .subscribeOn(scheduler), BULK_PARALLELISM)
+            .toMap(orgRoles -> orgRoles.getKey().getGuid())
+            .toBlocking().single();
+
+        final Map<UUID, Collection<CcOrgPermission>> permissions = new HashMap<>();
+        users.forEach(user -> permissions.put(user, orgs.stream()
+            .map(rolesByOrg::get)
+            .filter(Objects::nonNull)
+            .filter(orgRoles -> orgRoles.getValue().getOrDefault(user, ImmutableList.of()).contains(Role.USERS))
+            .map(orgRoles -> {
+                final List<Role> roles = orgRoles.getValue().get(user);
+                return new CcOrgPermission(orgRoles.getKey(), roles.contains(Role.MANAGERS),
+                    roles.contains(Role.AUDITORS), roles.contains(Role.BILLING_MANAGERS));
+            })
+            .collect(Collectors.toList())));
         return permissions;
     }
 
+    private static boolean isForbiddenOrMissing(Throwable e) {
+        final int status;
+        if (e instanceof CloudFoundryException) {
+            status = ((CloudFoundryException) e).getHttpCode();
+        } else if (e instanceof FeignResponseException) {
+            status = ((FeignResponseException) e).getStatusCode().value();
+        } else if (e instanceof FeignException) {
+            status = ((FeignException) e).status();
+        } else {
+            return false;
+        }
+        return status == HttpStatus.FORBIDDEN.value() || status == HttpStatus.NOT_FOUND.value();
+    }
+
+    private static Set<UUID> guids(Collection<CcOrg> orgs) {
+        return orgs.stream().map(CcOrg::getGuid).collect(Collectors.toSet());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
     @Override public Collection<User> getOrgUsers(UUID orgGuid, Role role) {
         return toUsers(Observable.defer(() -> concatPages(organizationResource.getOrganizationUsers(orgGuid,role.getValue()),
                 organizationResource::getOrganizationUsers)), role);
@@ -400,14 +785,24 @@ public class FeignClient implements CcOperations {
 
     @Override
     public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid) {
-        return Observable.defer(() -> concatPages(spaceResource.getSpaceUsersWithRoles(spaceGuid),
+        return getSpaceUsersWithRoles(spaceGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> spaceResource.getSpaceUsersWithRoles(spaceGuid), paging,
                 spaceResource::getSpaceUsersWithRoles))
                 .map(ccOrgUser -> new User(ccOrgUser.getUsername(), ccOrgUser.getGuid(), ccOrgUser.getRoles()));
     }
 
     @Override
     public Observable<User> getOrgUsersWithRoles(UUID orgGuid) {
-        return Observable.defer(() -> concatPages(organizationResource.getOrganizationUsersWithRoles(orgGuid),
+        return getOrgUsersWithRoles(orgGuid, PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<User> getOrgUsersWithRoles(UUID orgGuid, PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> organizationResource.getOrganizationUsersWithRoles(orgGuid), paging,
                 organizationResource::getOrganizationUsersWithRoles))
                 .map(ccOrgUser -> new User(ccOrgUser.getUsername(), ccOrgUser.getGuid(), ccOrgUser.getRoles()));
     }
@@ -433,6 +828,70 @@ public class FeignClient implements CcOperations {
         spaceResource.removeSpaceRoleFromUser(spaceId, userGuid, role.getValue());
     }
 
+    @Override
+    public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes) {
+        return applyRoleChanges(changes, BULK_PARALLELISM);
+    }
+
+    @Override
+    public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        // last change of a role wins, repeated ones are sent once
+        final Map<List<Object>, RoleChange> effective = new LinkedHashMap<>();
+        changes.forEach(change -> effective.put(roleKey(change), change));
+
+        final Map<RoleChange, RoleChangeResult> results = new HashMap<>();
+        final Scheduler scheduler = Schedulers.from(REQUEST_EXECUTOR);
+        results.putAll(applyRoleChanges(effective.values().stream()
+            .filter(change -> change.isOrgMembership() && change.getAction() == RoleChange.Action.ASSIGN),
+            parallelism, scheduler));
+        results.putAll(applyRoleChanges(effective.values().stream()
+            .filter(change -> !change.isOrgMembership()), parallelism, scheduler));
+        results.putAll(applyRoleChanges(effective.values().stream()
+            .filter(change -> change.isOrgMembership() && change.getAction() == RoleChange.Action.REVOKE),
+            parallelism, scheduler));
+
+        return changes.stream()
+            .map(change -> results.getOrDefault(change, RoleChangeResult.superseded(change)))
+            .collect(Collectors.toList());
+    }
+
+    private Map<RoleChange, RoleChangeResult> applyRoleChanges(Stream<RoleChange> changes,
+        int parallelism, Scheduler scheduler) {
+        return Observable.from(changes.collect(Collectors.toList()))
+            .flatMap(change -> Observable.defer(() -> Observable.just(applyRoleChange(change)))
+                .subscribeOn(scheduler), parallelism)
+            .toMap(RoleChangeResult::getChange)
+            .toBlocking().single();
+    }
+
+    private RoleChangeResult applyRoleChange(RoleChange change) {
+        try {
+            final boolean org = change.getScope() == RoleChange.Scope.ORGANIZATION;
+            if (change.getAction() == RoleChange.Action.ASSIGN) {
+                if (org) {
+                    assignOrgRole(change.getUser(), change.getTarget(), change.getRole());
+                } else {
+                    assignSpaceRole(change.getUser(), change.getTarget(), change.getRole());
+                }
+            } else if (org) {
+                revokeOrgRole(change.getUser(), change.getTarget(), change.getRole());
+            } else {
+                revokeSpaceRole(change.getUser(), change.getTarget(), change.getRole());
+            }
+            return RoleChangeResult.applied(change);
+        } catch (RuntimeException e) {
+            return RoleChangeResult.failed(change, e);
+        }
+    }
+
+    private static List<Object> roleKey(RoleChange change) {
+        return Arrays.asList(change.getScope(), change.getUser(), change.getTarget(), change.getRole());
+    }
+
     private Collection<User> toUsers(CcOrgUsersList ccUsers, Role role) {
         return ccUsers.getUsers().stream()
             .map(ccUser -> new User(ccUser.getUsername(), ccUser.getGuid(), role))
@@ -457,14 +916,21 @@ public class FeignClient implements CcOperations {
     }
 
     @Override public Observable<CcQuota> getQuota() {
-        return Observable.defer(() -> concatPages(quotaResource.getQuota(),
-            quotaResource::getQuota));
+        return getQuota(PagingOptions.DEFAULT);
+    }
+
+    @Override public Observable<CcQuota> getQuota(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> quotaResource.getQuota(), paging, quotaResource::getQuota));
     }
 
     @Override
     public Observable<CcBuildpack> getBuildpacks() {
-        return Observable.defer(() -> concatPages(buildpackResource.getBuildpacks(),
-                buildpackResource::getBuildpacks));
+        return getBuildpacks(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> buildpackResource.getBuildpacks(), paging, buildpackResource::getBuildpacks));
     }
 
     @Override
@@ -474,44 +940,60 @@ public class FeignClient implements CcOperations {
 
     @Override
     public Observable<CcUser> getUsers() {
-        return Observable.defer(() -> concatPages(userResource.getUsers(),
-            userResource::getUsers)
+        return getUsers(PagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<CcUser> getUsers(PagingOptions paging) {
+        return Observable.defer(() -> concatPages(() -> userResource.getUsers(), paging, userResource::getUsers)
                 .filter(user -> !user.getMetadata().getGuid().equals(UuidJsonDeserializer.ARTIFICIAL_USER_GUID)));
     }
 
     @Override
     public Observable<Integer> getUsersCount() {
-        return Observable.defer(() -> Observable.just(userResource.getUsersCount().getTotalResults()));
+        return count(CountKind.USERS);
     }
 
     @Override
     public Observable<Integer> getServicesCount() {
-        return Observable.defer(() -> Observable.just(serviceResource.getServices().getTotalResults()));
+        return count(CountKind.SERVICES);
     }
 
     @Override
     public Observable<Integer> getServiceInstancesCount() {
-        return Observable.defer(() -> Observable.just(serviceResource.getExtendedServiceInstances().getTotalResults()));
+        return count(CountKind.SERVICE_INSTANCES);
     }
 
     @Override
     public Observable<Integer> getApplicationsCount() {
-        return Observable.defer(() -> Observable.just(applicationResource.getApplications().getTotalResults()));
+        return count(CountKind.APPLICATIONS);
     }
 
     @Override
     public Observable<Integer> getBuildpacksCount() {
-        return Observable.defer(() -> Observable.just(buildpackResource.getBuildpacks().getTotalResults()));
+        return count(CountKind.BUILDPACKS);
     }
 
     @Override
     public Observable<Integer> getSpacesCount() {
-        return Observable.defer(() -> Observable.just(spaceResource.getSpaces().getTotalResults()));
+        return count(CountKind.SPACES);
     }
 
     @Override
     public Observable<Integer> getOrgsCount() {
-        return Observable.defer(() -> Observable.just(organizationResource.getOrgs().getTotalResults()));
+        return count(CountKind.ORGS);
+    }
+
+    @Override
+    public Observable<Map<CountKind, Integer>> getCounts(EnumSet<CountKind> kinds) {
+        final Scheduler scheduler = Schedulers.from(REQUEST_EXECUTOR);
+        return Observable.from(EnumSet.copyOf(kinds))
+            .flatMap(kind -> count(kind).subscribeOn(scheduler).map(count -> new SimpleImmutableEntry<>(kind, count)))
+            .toMap(Map.Entry::getKey, Map.Entry::getValue, () -> new EnumMap<>(CountKind.class));
+    }
+
+    private Observable<Integer> count(CountKind kind) {
+        return Observable.defer(() -> Observable.just(countResource.count(kind.getCollection())));
     }
 
 }
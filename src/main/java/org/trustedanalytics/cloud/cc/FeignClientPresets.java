@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.auth.TokenManager;
+import org.trustedanalytics.cloud.cc.api.customizations.ApacheHttpClient;
+import org.trustedanalytics.cloud.cc.api.customizations.BulkheadInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.BulkheadSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.CircuitBreakerInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.CircuitBreakerSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryErrorDecoder;
+import org.trustedanalytics.cloud.cc.api.customizations.ComposableBuilder;
+import org.trustedanalytics.cloud.cc.api.customizations.ConnectionPoolSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.ErrorDecoderHandler;
+import org.trustedanalytics.cloud.cc.api.customizations.InterceptingInvocationHandlerFactory;
+import org.trustedanalytics.cloud.cc.api.customizations.OAuth2RequestInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.RateLimitSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.RateLimitingInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.ResourceMethodInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.RetryPolicy;
+import org.trustedanalytics.cloud.cc.api.customizations.RetryingInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.SingleFlightInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.TokenRefreshingInterceptor;
+import org.trustedanalytics.cloud.cc.api.customizations.TracingClient;
+import org.trustedanalytics.cloud.cc.api.customizations.TracingInterceptor;
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+import org.trustedanalytics.cloud.tracing.Tracer;
+
+import feign.Client;
+import feign.Feign.Builder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Ready to use customizations for {@link FeignClient#FeignClient(String, Function)}. Presets can be
+ * combined with each other and with custom configuration: interceptors of presets applied later
+ * are nested inside ones applied earlier and transports are wrapped, not replaced, e.g.
+ * <pre>
+ * {@code
+ * new FeignClient(apiUrl, FeignClientPresets.pooledTransport().andThen(builder -> builder.requestInterceptor(
+ *     template -> template.header("Authorization", "bearer " + token))));
+ * }
+ * </pre>
+ */
+public final class FeignClientPresets {
+
+    private FeignClientPresets() {
+    }
+
+    /**
+     * Pooled keep-alive transport with {@link ConnectionPoolSettings#DEFAULT} settings.
+     */
+    public static Function<Builder, Builder> pooledTransport() {
+        return pooledTransport(ConnectionPoolSettings.DEFAULT);
+    }
+
+    /**
+     * Pooled keep-alive transport backed by Apache HttpClient. The pool is created once, so all
+     * clients built with the returned function share it.
+     * @param settings pool sizing and connections lifetime
+     */
+    public static Function<Builder, Builder> pooledTransport(ConnectionPoolSettings settings) {
+        final ApacheHttpClient transport = new ApacheHttpClient(settings);
+        return builder -> builder.client(transport);
+    }
+
+    /**
+     * Collapses concurrent identical GET requests into one, see {@link SingleFlightInterceptor}.
+     */
+    public static Function<Builder, Builder> singleFlight() {
+        return interceptors(new SingleFlightInterceptor());
+    }
+
+    /**
+     * Limits rate and concurrency of calls, see {@link RateLimitingInterceptor}.
+     */
+    public static Function<Builder, Builder> rateLimited(RateLimitSettings settings) {
+        return rateLimited(settings, ClientMetrics.NONE);
+    }
+
+    /**
+     * Limits rate and concurrency of calls, see {@link RateLimitingInterceptor}. The limiter is
+     * created once, so all resources of a client, counts included, share it; call this method
+     * for every client that needs limits of its own.
+     * @param settings rate and concurrency bounds
+     * @param metrics receives changes of concurrency limit and rejected requests
+     */
+    public static Function<Builder, Builder> rateLimited(RateLimitSettings settings, ClientMetrics metrics) {
+        return interceptors(new RateLimitingInterceptor(settings, metrics, "cc"));
+    }
+
+    /**
+     * Retries transient failures of idempotent calls, see {@link RetryingInterceptor}.
+     */
+    public static Function<Builder, Builder> retrying(RetryPolicy policy) {
+        return retrying(policy, ClientMetrics.NONE);
+    }
+
+    /**
+     * Retries transient failures of idempotent calls, see
+     * {@link #retrying(RetryPolicy, ClientMetrics, Collection)}.
+     */
+    public static Function<Builder, Builder> retrying(RetryPolicy policy, ClientMetrics metrics) {
+        return retrying(policy, metrics, Collections.emptyList());
+    }
+
+    /**
+     * Retries transient failures of idempotent calls, see {@link RetryingInterceptor}. Disables
+     * Feign's own retries and installs {@link CloudFoundryErrorDecoder} with given handlers,
+     * retrying errors their {@link ErrorDecoderHandler#isRetryable(feign.Response)} classifies as
+     * transient. When combined with {@link #rateLimited(RateLimitSettings)} apply this one first,
+     * so every attempt is limited.
+     * @param policy calls retried and backoff between attempts
+     * @param metrics receives retries, by Feign configuration key
+     * @param handlers custom error handlers, consulted before the default Cloud Foundry decoding
+     */
+    public static Function<Builder, Builder> retrying(RetryPolicy policy, ClientMetrics metrics,
+        Collection<ErrorDecoderHandler> handlers) {
+        final CloudFoundryErrorDecoder decoder = new CloudFoundryErrorDecoder(handlers).withRetryableErrors();
+        return interceptors(new RetryingInterceptor(policy, metrics))
+            .andThen(builder -> builder.retryer(RetryingInterceptor.FEIGN_RETRYER).errorDecoder(decoder));
+    }
+
+    /**
+     * Isolates resources from each other with default settings, see
+     * {@link #isolated(BulkheadSettings, CircuitBreakerSettings, ClientMetrics)}.
+     */
+    public static Function<Builder, Builder> isolated() {
+        return isolated(BulkheadSettings.DEFAULT, CircuitBreakerSettings.DEFAULT, ClientMetrics.NONE);
+    }
+
+    /**
+     * Guards every resource interface with a circuit breaker and a bulkhead, so that a slow or
+     * failing resource neither blocks calls of other resources nor gets more load while it is
+     * unhealthy. The bulkhead comes first, so time spent waiting for a slot is not counted as
+     * latency of the resource and rejected calls are never recorded by the circuit.
+     * @param bulkhead concurrent calls per resource
+     * @param circuitBreaker when circuits open and close
+     * @param metrics receives rejected calls and circuit state transitions
+     */
+    public static Function<Builder, Builder> isolated(BulkheadSettings bulkhead,
+        CircuitBreakerSettings circuitBreaker, ClientMetrics metrics) {
+        return interceptors(new BulkheadInterceptor(bulkhead, metrics),
+            new CircuitBreakerInterceptor(circuitBreaker, metrics));
+    }
+
+    /**
+     * Authorizes requests with token cached by given manager and sends a call once more with a
+     * fresh token when it is rejected with 401.
+     * @param tokens token of the identity all calls are made as
+     */
+    public static Function<Builder, Builder> oauth2(TokenManager tokens) {
+        final OAuth2RequestInterceptor authorization = new OAuth2RequestInterceptor(tokens);
+        return interceptors(new TokenRefreshingInterceptor(tokens))
+            .andThen(builder -> builder.requestInterceptor(authorization));
+    }
+
+    /**
+     * Traces resource method calls over the transport installed before, e.g. by
+     * {@link #pooledTransport()}, see {@link TracingInterceptor}. Returns identity with
+     * {@link Tracer#NONE}.
+     */
+    public static Function<Builder, Builder> tracing(Tracer tracer) {
+        if (tracer == Tracer.NONE) {
+            return Function.identity();
+        }
+        return interceptors(new TracingInterceptor(tracer))
+            .andThen(builder -> builder.client(new TracingClient(transport(builder))));
+    }
+
+    /**
+     * Traces resource method calls over given transport, e.g. {@link ApacheHttpClient}. Returns
+     * identity with {@link Tracer#NONE}.
+     * @param tracer opens spans
+     * @param transport client performing requests
+     */
+    public static Function<Builder, Builder> tracing(Tracer tracer, Client transport) {
+        if (tracer == Tracer.NONE) {
+            return Function.identity();
+        }
+        final TracingClient client = new TracingClient(transport);
+        return interceptors(new TracingInterceptor(tracer)).andThen(builder -> builder.client(client));
+    }
+
+    /**
+     * Passes resource method calls through given interceptors, the first one is the outermost.
+     * Interceptors are added after ones installed by previously applied presets.
+     * @param interceptors interceptors in order of invocation
+     */
+    public static Function<Builder, Builder> interceptors(ResourceMethodInterceptor... interceptors) {
+        final List<ResourceMethodInterceptor> added = Arrays.asList(interceptors);
+        return builder -> builder instanceof ComposableBuilder
+            ? ((ComposableBuilder) builder).addInterceptors(added)
+            : builder.invocationHandlerFactory(new InterceptingInvocationHandlerFactory(added));
+    }
+
+    private static Client transport(Builder builder) {
+        return builder instanceof ComposableBuilder
+            ? ((ComposableBuilder) builder).getClient() : new Client.Default(null, null);
+    }
+}
@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.BulkBindingOptions;
+import org.trustedanalytics.cloud.cc.api.BulkBindingResult;
+import org.trustedanalytics.cloud.cc.api.CcAppEnv;
+import org.trustedanalytics.cloud.cc.api.CcAppStatus;
+import org.trustedanalytics.cloud.cc.api.CcAppSummary;
+import org.trustedanalytics.cloud.cc.api.CcBuildpack;
+import org.trustedanalytics.cloud.cc.api.CcExtendedService;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServicePlan;
+import org.trustedanalytics.cloud.cc.api.CcMemoryUsage;
+import org.trustedanalytics.cloud.cc.api.CcNewServiceBinding;
+import org.trustedanalytics.cloud.cc.api.CcNewServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcNewServiceKey;
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcOrgPermission;
+import org.trustedanalytics.cloud.cc.api.CcOrgSummary;
+import org.trustedanalytics.cloud.cc.api.CcPlanVisibility;
+import org.trustedanalytics.cloud.cc.api.CcQuota;
+import org.trustedanalytics.cloud.cc.api.CcServiceBinding;
+import org.trustedanalytics.cloud.cc.api.CcServiceBindingList;
+import org.trustedanalytics.cloud.cc.api.CcServiceKey;
+import org.trustedanalytics.cloud.cc.api.CcSpace;
+import org.trustedanalytics.cloud.cc.api.CcSummary;
+import org.trustedanalytics.cloud.cc.api.CountKind;
+import org.trustedanalytics.cloud.cc.api.manageusers.CcUser;
+import org.trustedanalytics.cloud.cc.api.manageusers.Role;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChange;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChangeResult;
+import org.trustedanalytics.cloud.cc.api.manageusers.User;
+import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import rx.Observable;
+
+/**
+ * Base for {@link CcOperations} decorators. Forwards every call to the delegate, subclasses
+ * override only the operations they add behaviour to.
+ */
+public abstract class ForwardingCcOperations implements CcOperations {
+
+    protected final CcOperations delegate;
+
+    protected ForwardingCcOperations(CcOperations delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public CcSummary getSpaceSummary(UUID spaceGuid) {
+        return delegate.getSpaceSummary(spaceGuid);
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks() {
+        return delegate.getBuildpacks();
+    }
+
+    @Override
+    public Observable<CcBuildpack> getBuildpacks(PagingOptions paging) {
+        return delegate.getBuildpacks(paging);
+    }
+
+    @Override
+    public Observable<Integer> getBuildpacksCount() {
+        return delegate.getBuildpacksCount();
+    }
+
+    @Override
+    public Observable<Map<CountKind, Integer>> getCounts(EnumSet<CountKind> kinds) {
+        return delegate.getCounts(kinds);
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota() {
+        return delegate.getQuota();
+    }
+
+    @Override
+    public Observable<CcQuota> getQuota(PagingOptions paging) {
+        return delegate.getQuota(paging);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getServices(UUID spaceGuid) {
+        return delegate.getServices(spaceGuid);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getServices(UUID spaceGuid, PagingOptions paging) {
+        return delegate.getServices(spaceGuid, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid) {
+        return delegate.getOrganizationServices(orgGuid);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getOrganizationServices(UUID orgGuid, PagingOptions paging) {
+        return delegate.getOrganizationServices(orgGuid, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices() {
+        return delegate.getExtendedServices();
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(PagingOptions paging) {
+        return delegate.getExtendedServices(paging);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery) {
+        return delegate.getExtendedServices(filterQuery);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery, PagingOptions paging) {
+        return delegate.getExtendedServices(filterQuery, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid) {
+        return delegate.getExtendedServicePlans(serviceGuid);
+    }
+
+    @Override
+    public Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging) {
+        return delegate.getExtendedServicePlans(serviceGuid, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedService> getService(UUID serviceGuid) {
+        return delegate.getService(serviceGuid);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> createServiceInstance(CcNewServiceInstance serviceInstance) {
+        return delegate.createServiceInstance(serviceInstance);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances() {
+        return delegate.getExtendedServiceInstances();
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(PagingOptions paging) {
+        return delegate.getExtendedServiceInstances(paging);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery) {
+        return delegate.getExtendedServiceInstances(filterQuery);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery,
+        PagingOptions paging) {
+        return delegate.getExtendedServiceInstances(filterQuery, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth) {
+        return delegate.getExtendedServiceInstances(depth);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth, PagingOptions paging) {
+        return delegate.getExtendedServiceInstances(depth, paging);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth) {
+        return delegate.getExtendedServiceInstances(filterQuery, depth);
+    }
+
+    @Override
+    public Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth,
+        PagingOptions paging) {
+        return delegate.getExtendedServiceInstances(filterQuery, depth, paging);
+    }
+
+    @Override
+    public void deleteServiceInstance(UUID instanceGuid) {
+        delegate.deleteServiceInstance(instanceGuid);
+    }
+
+    @Override
+    public CcServiceBindingList getServiceBindings(FilterQuery filterQuery) {
+        return delegate.getServiceBindings(filterQuery);
+    }
+
+    @Override
+    public Observable<CcServiceKey> getServiceKeys() {
+        return delegate.getServiceKeys();
+    }
+
+    @Override
+    public Observable<CcServiceKey> getServiceKeys(PagingOptions paging) {
+        return delegate.getServiceKeys(paging);
+    }
+
+    @Override
+    public Observable<CcServiceKey> createServiceKey(CcNewServiceKey serviceKey) {
+        return delegate.createServiceKey(serviceKey);
+    }
+
+    @Override
+    public void deleteServiceKey(UUID keyGuid) {
+        delegate.deleteServiceKey(keyGuid);
+    }
+
+    @Override
+    public Observable<Integer> getServicesCount() {
+        return delegate.getServicesCount();
+    }
+
+    @Override
+    public Observable<Integer> getServiceInstancesCount() {
+        return delegate.getServiceInstancesCount();
+    }
+
+    @Override
+    public Observable<CcPlanVisibility> setExtendedServicePlanVisibility(UUID servicePlanGuid, UUID organizationGuid) {
+        return delegate.setExtendedServicePlanVisibility(servicePlanGuid, organizationGuid);
+    }
+
+    @Override
+    public Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery) {
+        return delegate.getExtendedServicePlanVisibility(filterQuery);
+    }
+
+    @Override
+    public Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery,
+        PagingOptions paging) {
+        return delegate.getExtendedServicePlanVisibility(filterQuery, paging);
+    }
+
+    @Override
+    public CcAppSummary getAppSummary(UUID app) {
+        return delegate.getAppSummary(app);
+    }
+
+    @Override
+    public void restageApp(UUID appGuid) {
+        delegate.restageApp(appGuid);
+    }
+
+    @Override
+    public CcServiceBindingList getAppBindings(UUID app) {
+        return delegate.getAppBindings(app);
+    }
+
+    @Override
+    public CcServiceBindingList getAppBindings(UUID app, FilterQuery filterQuery) {
+        return delegate.getAppBindings(app, filterQuery);
+    }
+
+    @Override
+    public void deleteApp(UUID app) {
+        delegate.deleteApp(app);
+    }
+
+    @Override
+    public void switchApp(UUID app, CcAppStatus appStatus) {
+        delegate.switchApp(app, appStatus);
+    }
+
+    @Override
+    public CcServiceBinding createServiceBinding(CcNewServiceBinding ccNewServiceBinding) {
+        return delegate.createServiceBinding(ccNewServiceBinding);
+    }
+
+    @Override
+    public void deleteServiceBinding(UUID bindingGuid) {
+        delegate.deleteServiceBinding(bindingGuid);
+    }
+
+    @Override
+    public BulkBindingResult<CcNewServiceBinding> createServiceBindings(Collection<CcNewServiceBinding> bindings,
+        BulkBindingOptions options) {
+        return delegate.createServiceBindings(bindings, options);
+    }
+
+    @Override
+    public BulkBindingResult<CcServiceBinding> deleteServiceBindings(Collection<CcServiceBinding> bindings,
+        BulkBindingOptions options) {
+        return delegate.deleteServiceBindings(bindings, options);
+    }
+
+    @Override
+    public Observable<CcAppEnv> getAppEnv(UUID appGuid) {
+        return delegate.getAppEnv(appGuid);
+    }
+
+    @Override
+    public Observable<Integer> getApplicationsCount() {
+        return delegate.getApplicationsCount();
+    }
+
+    @Override
+    public void createUser(UUID userGuid) {
+        delegate.createUser(userGuid);
+    }
+
+    @Override
+    public UUID createOrganization(String orgName) {
+        return delegate.createOrganization(orgName);
+    }
+
+    @Override
+    public UUID createSpace(UUID orgGuid, String name) {
+        return delegate.createSpace(orgGuid, name);
+    }
+
+    @Override
+    public void assignUserToOrganization(UUID userGuid, UUID orgGuid) {
+        delegate.assignUserToOrganization(userGuid, orgGuid);
+    }
+
+    @Override
+    public void assignUserToSpace(UUID userGuid, UUID spaceGuid) {
+        delegate.assignUserToSpace(userGuid, spaceGuid);
+    }
+
+    @Override
+    public Observable<CcOrg> getOrg(UUID orgUUID) {
+        return delegate.getOrg(orgUUID);
+    }
+
+    @Override
+    public Observable<CcOrg> getOrgs() {
+        return delegate.getOrgs();
+    }
+
+    @Override
+    public Observable<CcOrg> getOrgs(PagingOptions paging) {
+        return delegate.getOrgs(paging);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces() {
+        return delegate.getSpaces();
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(PagingOptions paging) {
+        return delegate.getSpaces(paging);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpace(UUID spaceId) {
+        return delegate.getSpace(spaceId);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(UUID org) {
+        return delegate.getSpaces(org);
+    }
+
+    @Override
+    public Observable<CcSpace> getSpaces(UUID org, PagingOptions paging) {
+        return delegate.getSpaces(org, paging);
+    }
+
+    @Override
+    public Collection<CcOrg> getManagedOrganizations(UUID user) {
+        return delegate.getManagedOrganizations(user);
+    }
+
+    @Override
+    public Collection<CcOrg> getAuditedOrganizations(UUID user) {
+        return delegate.getAuditedOrganizations(user);
+    }
+
+    @Override
+    public Collection<CcOrg> getBillingManagedOrganizations(UUID user) {
+        return delegate.getBillingManagedOrganizations(user);
+    }
+
+    @Override
+    public Collection<CcOrg> getUserOrgs(UUID user) {
+        return delegate.getUserOrgs(user);
+    }
+
+    @Override
+    public Collection<CcOrgPermission> getUserPermissions(UUID user, Collection<UUID> orgIDs) {
+        return delegate.getUserPermissions(user, orgIDs);
+    }
+
+    @Override
+    public Map<UUID, Collection<CcOrgPermission>> getUserPermissions(Collection<UUID> users, Collection<UUID> orgIDs) {
+        return delegate.getUserPermissions(users, orgIDs);
+    }
+
+    @Override
+    public void renameOrg(UUID orgId, String name) {
+        delegate.renameOrg(orgId, name);
+    }
+
+    @Override
+    public void deleteOrg(UUID orgGuid) {
+        delegate.deleteOrg(orgGuid);
+    }
+
+    @Override
+    public void deleteSpace(UUID spaceGuid) {
+        delegate.deleteSpace(spaceGuid);
+    }
+
+    @Override
+    public Collection<CcSpace> getUsersSpaces(UUID userGuid, Role role, FilterQuery filterQuery) {
+        return delegate.getUsersSpaces(userGuid, role, filterQuery);
+    }
+
+    @Override
+    public Observable<CcMemoryUsage> getMemoryUsage(UUID orgGuid) {
+        return delegate.getMemoryUsage(orgGuid);
+    }
+
+    @Override
+    public Observable<CcOrgSummary> getOrgSummary(UUID orgGuid) {
+        return delegate.getOrgSummary(orgGuid);
+    }
+
+    @Override
+    public Observable<Integer> getOrgsCount() {
+        return delegate.getOrgsCount();
+    }
+
+    @Override
+    public Observable<Integer> getSpacesCount() {
+        return delegate.getSpacesCount();
+    }
+
+    @Override
+    public Observable<Integer> getUsersCount() {
+        return delegate.getUsersCount();
+    }
+
+    @Override
+    public Observable<CcUser> getUsers() {
+        return delegate.getUsers();
+    }
+
+    @Override
+    public Observable<CcUser> getUsers(PagingOptions paging) {
+        return delegate.getUsers(paging);
+    }
+
+    @Override
+    public Collection<User> getOrgUsers(UUID orgGuid, Role role) {
+        return delegate.getOrgUsers(orgGuid, role);
+    }
+
+    @Override
+    public Collection<User> getSpaceUsers(UUID spaceGuid, Role role) {
+        return delegate.getSpaceUsers(spaceGuid, role);
+    }
+
+    @Override
+    public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid) {
+        return delegate.getSpaceUsersWithRoles(spaceGuid);
+    }
+
+    @Override
+    public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid, PagingOptions paging) {
+        return delegate.getSpaceUsersWithRoles(spaceGuid, paging);
+    }
+
+    @Override
+    public Observable<User> getOrgUsersWithRoles(UUID orgGuid) {
+        return delegate.getOrgUsersWithRoles(orgGuid);
+    }
+
+    @Override
+    public Observable<User> getOrgUsersWithRoles(UUID orgGuid, PagingOptions paging) {
+        return delegate.getOrgUsersWithRoles(orgGuid, paging);
+    }
+
+    @Override
+    public void assignOrgRole(UUID userGuid, UUID orgGuid, Role role) {
+        delegate.assignOrgRole(userGuid, orgGuid, role);
+    }
+
+    @Override
+    public void assignSpaceRole(UUID userGuid, UUID orgGuid, Role role) {
+        delegate.assignSpaceRole(userGuid, orgGuid, role);
+    }
+
+    @Override
+    public void deleteUser(UUID guid) {
+        delegate.deleteUser(guid);
+    }
+
+    @Override
+    public void revokeOrgRole(UUID userGuid, UUID orgId, Role role) {
+        delegate.revokeOrgRole(userGuid, orgId, role);
+    }
+
+    @Override
+    public void revokeSpaceRole(UUID userGuid, UUID spaceId, Role role) {
+        delegate.revokeSpaceRole(userGuid, spaceId, role);
+    }
+
+    @Override
+    public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes) {
+        return delegate.applyRoleChanges(changes);
+    }
+
+    @Override
+    public List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes, int parallelism) {
+        return delegate.applyRoleChanges(changes, parallelism);
+    }
+}
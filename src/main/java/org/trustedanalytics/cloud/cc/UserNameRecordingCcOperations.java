@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.manageusers.CcUser;
+import org.trustedanalytics.cloud.cc.api.manageusers.Role;
+import org.trustedanalytics.cloud.cc.api.manageusers.User;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+import org.trustedanalytics.cloud.uaa.UserNameCache;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+import rx.Observable;
+
+/**
+ * Records GUID and name of every user returned by Cloud Controller in a {@link UserNameCache},
+ * so later name lookups made through {@link org.trustedanalytics.cloud.uaa.CachingUaaOperations}
+ * sharing the cache do not reach UAA. Deleted users are dropped from the cache.
+ */
+public class UserNameRecordingCcOperations extends ForwardingCcOperations {
+
+    private final UserNameCache cache;
+
+    public UserNameRecordingCcOperations(CcOperations delegate, UserNameCache cache) {
+        super(delegate);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public Observable<CcUser> getUsers() {
+        return delegate.getUsers().doOnNext(this::record);
+    }
+
+    @Override
+    public Observable<CcUser> getUsers(PagingOptions paging) {
+        return delegate.getUsers(paging).doOnNext(this::record);
+    }
+
+    @Override
+    public Collection<User> getOrgUsers(UUID orgGuid, Role role) {
+        final Collection<User> users = delegate.getOrgUsers(orgGuid, role);
+        users.forEach(this::record);
+        return users;
+    }
+
+    @Override
+    public Collection<User> getSpaceUsers(UUID spaceGuid, Role role) {
+        final Collection<User> users = delegate.getSpaceUsers(spaceGuid, role);
+        users.forEach(this::record);
+        return users;
+    }
+
+    @Override
+    public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid) {
+        return delegate.getSpaceUsersWithRoles(spaceGuid).doOnNext(this::record);
+    }
+
+    @Override
+    public Observable<User> getSpaceUsersWithRoles(UUID spaceGuid, PagingOptions paging) {
+        return delegate.getSpaceUsersWithRoles(spaceGuid, paging).doOnNext(this::record);
+    }
+
+    @Override
+    public Observable<User> getOrgUsersWithRoles(UUID orgGuid) {
+        return delegate.getOrgUsersWithRoles(orgGuid).doOnNext(this::record);
+    }
+
+    @Override
+    public Observable<User> getOrgUsersWithRoles(UUID orgGuid, PagingOptions paging) {
+        return delegate.getOrgUsersWithRoles(orgGuid, paging).doOnNext(this::record);
+    }
+
+    @Override
+    public void deleteUser(UUID guid) {
+        delegate.deleteUser(guid);
+        cache.invalidate(guid);
+    }
+
+    private void record(User user) {
+        if (user.getGuid() != null && user.getUsername() != null) {
+            cache.put(user.getGuid(), user.getUsername());
+        }
+    }
+
+    private void record(CcUser user) {
+        if (user.getMetadata() != null && user.getMetadata().getGuid() != null
+            && user.getEntity() != null && user.getEntity().getUsername() != null) {
+            cache.put(user.getMetadata().getGuid(), user.getEntity().getUsername());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api;
+
+/**
+ * Execution options of bulk service binding operations.
+ */
+public final class BulkBindingOptions {
+
+    /**
+     * 8 bindings changed at once, applications not restaged.
+     */
+    public static final BulkBindingOptions DEFAULT = new BulkBindingOptions(8, false);
+
+    private final int parallelism;
+    private final boolean restage;
+
+    private BulkBindingOptions(int parallelism, boolean restage) {
+        this.parallelism = parallelism;
+        this.restage = restage;
+    }
+
+    /**
+     * @param parallelism maximal number of binding or restage requests sent at once
+     */
+    public BulkBindingOptions withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        return new BulkBindingOptions(parallelism, restage);
+    }
+
+    /**
+     * @param restage whether every application with a changed binding is restaged once after
+     * all bindings are processed, so it picks up new credentials
+     */
+    public BulkBindingOptions withRestage(boolean restage) {
+        return new BulkBindingOptions(parallelism, restage);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isRestage() {
+        return restage;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkBindingOptions [parallelism=%d, restage=%s]", parallelism, restage);
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk service binding operation. Failure of a single binding or restage does not
+ * stop the others, they are collected here instead.
+ * @param <T> type of requested binding change
+ */
+public final class BulkBindingResult<T> {
+
+    private final List<CcServiceBinding> bindings;
+    private final Map<T, RuntimeException> failures;
+    private final Set<UUID> restagedApps;
+    private final Map<UUID, RuntimeException> restageFailures;
+
+    public BulkBindingResult(Collection<CcServiceBinding> bindings, Map<T, RuntimeException> failures,
+        Collection<UUID> restagedApps, Map<UUID, RuntimeException> restageFailures) {
+        this.bindings = ImmutableList.copyOf(bindings);
+        this.failures = ImmutableMap.copyOf(failures);
+        this.restagedApps = ImmutableSet.copyOf(restagedApps);
+        this.restageFailures = ImmutableMap.copyOf(restageFailures);
+    }
+
+    /**
+     * @return bindings created or deleted successfully
+     */
+    public List<CcServiceBinding> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * @return requested changes that failed, with exceptions thrown by their requests
+     */
+    public Map<T, RuntimeException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return GUIDs of applications restaged successfully
+     */
+    public Set<UUID> getRestagedApps() {
+        return restagedApps;
+    }
+
+    /**
+     * @return GUIDs of applications which failed to restage, with exceptions thrown by restage
+     */
+    public Map<UUID, RuntimeException> getRestageFailures() {
+        return restageFailures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty() || !restageFailures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkBindingResult [bindings=%d, failures=%d, restagedApps=%d, restageFailures=%d]",
+            bindings.size(), failures.size(), restagedApps.size(), restageFailures.size());
+    }
+}
@@ -15,18 +15,42 @@
  */
 package org.trustedanalytics.cloud.cc.api;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
 
 public class CcAppEnv {
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // filters are mostly built from a handful of service names, compiled once for all instances
+    private static final LoadingCache<String, JsonPath> COMPILED_FILTERS = CacheBuilder.newBuilder()
+        .maximumSize(512)
+        .build(CacheLoader.from(filter -> JsonPath.compile(filter)));
+
     @JsonProperty("env")
     private final Object env;
 
+    // env is already a tree of maps and lists, it is wrapped once instead of on every query
+    private final Supplier<DocumentContext> document = Suppliers.memoize(() -> JsonPath.parse(env));
+
+    private final Supplier<VcapServices> services = Suppliers.memoize(() -> VcapServices.of(env));
+
     public CcAppEnv (Object env) {
         this.env = env;
     }
@@ -52,8 +76,16 @@ public class CcAppEnv {
      * @param filter is an expression like: "$..[?(@.name=='sso')]..credentials..apiEndpoint"
      */
     public JsonNode getValueByFilter(String filter) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readTree(JsonPath.parse(env).read(filter).toString());
+        final Object value = document.get().read(compile(filter));
+        return MAPPER.valueToTree(value);
+    }
+
+    private static JsonPath compile(String filter) {
+        try {
+            return COMPILED_FILTERS.getUnchecked(filter);
+        } catch (UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
     }
 
     /**
@@ -104,10 +136,15 @@ public class CcAppEnv {
      * </pre>
      * @param label is a service label
      * @param credentialsProperty is a service credentials property
+     * @return property of first service with given label having it, null if there is none
      */
     public String findCredentialsPropertyByServiceLabel(String label, String credentialsProperty) throws IOException {
-        String filter = "$..[?(@.label=='" + label + "')]..credentials.." + credentialsProperty;
-        return toValidProperty(getValueByFilter(filter));
+        return getServices().findByLabel(label).stream()
+            .map(service -> service.findCredential(credentialsProperty))
+            .filter(Optional::isPresent)
+            .findFirst()
+            .map(property -> toValidProperty(property.get()))
+            .orElse(null);
     }
 
     /**
@@ -132,17 +169,34 @@ public class CcAppEnv {
      * </pre>
      * @param name is a service name
      * @param credentialsProperty is a service credentials property
+     * @return property of the service, null if service or property is missing
      */
     public String findCredentialsPropertyByServiceName(String name, String credentialsProperty) throws IOException {
-        String filter = "$..[?(@.name=='" + name + "')]..credentials.." + credentialsProperty;
-        return toValidProperty(getValueByFilter(filter));
+        return getServices().findByName(name)
+            .flatMap(service -> service.findCredential(credentialsProperty))
+            .map(this::toValidProperty)
+            .orElse(null);
     }
 
-    private String toValidProperty(JsonNode property) {
-        String validatedProperty = property.get(0).toString();
-        if (validatedProperty.startsWith("\"") && validatedProperty.endsWith("\"")) {
-            return validatedProperty.substring(1, validatedProperty.length() - 1);
-        }
-        return validatedProperty;
+    /**
+     * Returns service bindings of this environment, indexed by name, label and tag. The index
+     * is built on first call. Derived from env, so it is not serialized.
+     */
+    @JsonIgnore
+    public VcapServices getServices() {
+        return services.get();
+    }
+
+    /**
+     * Returns credentials of services with given names.
+     * @param names service names
+     * @return credentials by service name, names without a binding are left out
+     */
+    public Map<String, Map<String, Object>> credentialsFor(Collection<String> names) {
+        return getServices().credentialsFor(names);
+    }
+
+    private String toValidProperty(Object property) {
+        return property instanceof String ? (String) property : MAPPER.valueToTree(property).toString();
     }
 }
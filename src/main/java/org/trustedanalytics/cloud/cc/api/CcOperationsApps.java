@@ -18,6 +18,7 @@ package org.trustedanalytics.cloud.cc.api;
 import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
 import rx.Observable;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface CcOperationsApps extends CcOperationsCommon {
@@ -76,6 +77,26 @@ public interface CcOperationsApps extends CcOperationsCommon {
      */
     void deleteServiceBinding(UUID bindingGuid);
 
+    /**
+     * Creates service bindings concurrently and, if requested, restages each application with
+     * a new binding once afterwards.
+     * @param bindings bindings to create
+     * @param options parallelism and restage option
+     * @return created bindings and failures
+     */
+    BulkBindingResult<CcNewServiceBinding> createServiceBindings(Collection<CcNewServiceBinding> bindings,
+        BulkBindingOptions options);
+
+    /**
+     * Deletes service bindings concurrently and, if requested, restages each application with
+     * a deleted binding once afterwards.
+     * @param bindings bindings to delete, e.g. returned by {@link #getAppBindings(UUID)}
+     * @param options parallelism and restage option
+     * @return deleted bindings and failures
+     */
+    BulkBindingResult<CcServiceBinding> deleteServiceBindings(Collection<CcServiceBinding> bindings,
+        BulkBindingOptions options);
+
     /**
      * Returns environment variables for application identified by given GUID.
      * @param appGuid application GUID
@@ -15,8 +15,11 @@
  */
 package org.trustedanalytics.cloud.cc.api;
 
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import rx.Observable;
 
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CcOperationsCommon {
@@ -32,13 +35,32 @@ public interface CcOperationsCommon {
      */
     Observable<CcBuildpack> getBuildpacks();
 
+    /**
+     * Returns buildpacks
+     * @param paging paging options
+     */
+    Observable<CcBuildpack> getBuildpacks(PagingOptions paging);
+
     /**
      * Returns total number of buildpacks
      */
     Observable<Integer> getBuildpacksCount();
 
+    /**
+     * Returns total numbers of entities in given collections. Counts are requested concurrently.
+     * @param kinds collections to count
+     * @return single map with a count for every requested kind
+     */
+    Observable<Map<CountKind, Integer>> getCounts(EnumSet<CountKind> kinds);
+
     /**
      * Get quota
      */
     Observable<CcQuota> getQuota();
+
+    /**
+     * Get quota
+     * @param paging paging options
+     */
+    Observable<CcQuota> getQuota(PagingOptions paging);
 }
@@ -17,9 +17,11 @@ package org.trustedanalytics.cloud.cc.api;
 
 import org.trustedanalytics.cloud.cc.api.manageusers.Role;
 import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import rx.Observable;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CcOperationsOrgsSpaces {
@@ -72,12 +74,26 @@ public interface CcOperationsOrgsSpaces {
      */
     Observable<CcOrg> getOrgs();
 
+    /**
+     * Returns all organizations.
+     * @param paging paging options
+     * @return organizations
+     */
+    Observable<CcOrg> getOrgs(PagingOptions paging);
+
     /**
      * Returns all spaces.
      * @return spaces
      */
     Observable<CcSpace> getSpaces();
 
+    /**
+     * Returns all spaces.
+     * @param paging paging options
+     * @return spaces
+     */
+    Observable<CcSpace> getSpaces(PagingOptions paging);
+
     /**
      * Returns space identified by given GUID.
      * @param spaceId space GUID
@@ -92,6 +108,14 @@ public interface CcOperationsOrgsSpaces {
      */
     Observable<CcSpace> getSpaces(UUID org);
 
+    /**
+     * Returns all spaces withing organization identified by given GUID.
+     * @param org GUID
+     * @param paging paging options
+     * @return spaces
+     */
+    Observable<CcSpace> getSpaces(UUID org, PagingOptions paging);
+
     /**
      * Returns organizations managed by user identified by given GUID.
      * @param user GUID
@@ -128,6 +152,16 @@ public interface CcOperationsOrgsSpaces {
      */
     Collection<CcOrgPermission> getUserPermissions(UUID user, Collection<UUID> orgIDs);
 
+    /**
+     * Returns permissions of many users at once. When organizations are given, roles are read
+     * once per organization instead of per user, which requires rights to list organization members.
+     * Organizations that do not exist or whose members cannot be listed are left out.
+     * @param users users GUIDs
+     * @param orgIDs organizations UUIDs, all organizations of each user when empty
+     * @return permissions in organizations by user GUID, in order of given users
+     */
+    Map<UUID, Collection<CcOrgPermission>> getUserPermissions(Collection<UUID> users, Collection<UUID> orgIDs);
+
     /**
      * Renames organization identified by given GUID.
      * @param orgId GUID
@@ -16,6 +16,7 @@
 package org.trustedanalytics.cloud.cc.api;
 
 import org.trustedanalytics.cloud.cc.api.queries.FilterQuery;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import rx.Observable;
 import java.util.UUID;
 
@@ -27,6 +28,14 @@ public interface CcOperationsServices extends CcOperationsCommon {
      */
     Observable<CcExtendedService> getServices(UUID spaceGuid);
 
+    /**
+     * Returns services within space identified by given GUID.
+     * @param spaceGuid GUID
+     * @param paging paging options
+     * @return services
+     */
+    Observable<CcExtendedService> getServices(UUID spaceGuid, PagingOptions paging);
+
     /**
      * Returns services within organization identified by given GUID
      * @param orgGuid GUID
@@ -34,24 +43,53 @@ public interface CcOperationsServices extends CcOperationsCommon {
      */
     Observable<CcExtendedService> getOrganizationServices(UUID orgGuid);
 
+    /**
+     * Returns services within organization identified by given GUID
+     * @param orgGuid GUID
+     * @param paging paging options
+     * @return services
+     */
+    Observable<CcExtendedService> getOrganizationServices(UUID orgGuid, PagingOptions paging);
+
     /**
      * Returns services
      * @return services
      */
     Observable<CcExtendedService> getExtendedServices();
 
+    /**
+     * Returns services
+     * @param paging paging options
+     * @return services
+     */
+    Observable<CcExtendedService> getExtendedServices(PagingOptions paging);
+
     /**
      * @param filterQuery filter to use when requesting services
      * @return filtered services
      */
     Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery);
 
+    /**
+     * @param filterQuery filter to use when requesting services
+     * @param paging paging options
+     * @return filtered services
+     */
+    Observable<CcExtendedService> getExtendedServices(FilterQuery filterQuery, PagingOptions paging);
+
     /**
      * Returns service plans within service identified by given GUID
      * @return services plans
      */
     Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid);
 
+    /**
+     * Returns service plans within service identified by given GUID
+     * @param paging paging options
+     * @return services plans
+     */
+    Observable<CcExtendedServicePlan> getExtendedServicePlans(UUID serviceGuid, PagingOptions paging);
+
     /**
      * Returns service identified by given GUID.
      * @param serviceGuid GUID
@@ -71,18 +109,38 @@ public interface CcOperationsServices extends CcOperationsCommon {
      */
     Observable<CcExtendedServiceInstance> getExtendedServiceInstances();
 
+    /**
+     * @param paging paging options
+     * @return all service instances
+     */
+    Observable<CcExtendedServiceInstance> getExtendedServiceInstances(PagingOptions paging);
+
     /**
      * @param filterQuery filter to use when requesting service instances
      * @return filtered service instances
      */
     Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery);
 
+    /**
+     * @param filterQuery filter to use when requesting service instances
+     * @param paging paging options
+     * @return filtered service instances
+     */
+    Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, PagingOptions paging);
+
     /**
      * @param depth how deep the relations should be resolved
      * @return all service instances
      */
     Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth);
 
+    /**
+     * @param depth how deep the relations should be resolved
+     * @param paging paging options
+     * @return all service instances
+     */
+    Observable<CcExtendedServiceInstance> getExtendedServiceInstances(int depth, PagingOptions paging);
+
     /**
      * @param filterQuery filter to use when requesting service instances
      * @param depth how deep the relations should be resolved
@@ -90,6 +148,15 @@ public interface CcOperationsServices extends CcOperationsCommon {
      */
     Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth);
 
+    /**
+     * @param filterQuery filter to use when requesting service instances
+     * @param depth how deep the relations should be resolved
+     * @param paging paging options
+     * @return filtered service instances
+     */
+    Observable<CcExtendedServiceInstance> getExtendedServiceInstances(FilterQuery filterQuery, int depth,
+        PagingOptions paging);
+
     /**
      * Deletes service instance identified by given GUID.
      * @param instanceGuid GUID
@@ -109,6 +176,13 @@ public interface CcOperationsServices extends CcOperationsCommon {
      */
     Observable<CcServiceKey> getServiceKeys();
 
+    /**
+     * Returns a list of all service keys acessible to user
+     * @param paging paging options
+     * @return list of service keys
+     */
+    Observable<CcServiceKey> getServiceKeys(PagingOptions paging);
+
     /**
      * Creates a new service key
      * @return Created service key
@@ -148,4 +222,12 @@ public interface CcOperationsServices extends CcOperationsCommon {
      * @return services plan visibility
      */
     Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery);
+
+    /**
+     * Get visibility of service plan to specific organization
+     * @param filterQuery filter
+     * @param paging paging options
+     * @return services plan visibility
+     */
+    Observable<CcPlanVisibility> getExtendedServicePlanVisibility(FilterQuery filterQuery, PagingOptions paging);
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api;
+
+/**
+ * Cloud Controller collections which total number of entities can be requested with
+ * {@link CcOperations#getCounts(java.util.EnumSet)}.
+ */
+public enum CountKind {
+    APPLICATIONS("apps"),
+    BUILDPACKS("buildpacks"),
+    ORGS("organizations"),
+    SERVICES("services"),
+    SERVICE_INSTANCES("service_instances"),
+    SPACES("spaces"),
+    USERS("users");
+
+    private final String collection;
+
+    CountKind(String collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * @return name of the collection resource, e.g. "service_instances" for /v2/service_instances
+     */
+    public String getCollection() {
+        return collection;
+    }
+}
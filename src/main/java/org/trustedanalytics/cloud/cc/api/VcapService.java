@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service binding found in application environment, i.e. a single entry of VCAP_SERVICES.
+ */
+public final class VcapService {
+
+    private final String name;
+    private final String label;
+    private final String plan;
+    private final List<String> tags;
+    private final Map<String, Object> credentials;
+
+    public VcapService(String name, String label, String plan, List<String> tags,
+        Map<String, Object> credentials) {
+        this.name = Objects.requireNonNull(name);
+        this.label = label;
+        this.plan = plan;
+        this.tags = ImmutableList.copyOf(tags);
+        this.credentials = ImmutableMap.copyOf(credentials);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return credentials as given by the broker, nested objects are maps and lists
+     */
+    public Map<String, Object> getCredentials() {
+        return credentials;
+    }
+
+    /**
+     * Looks for property among credentials, then in nested objects in order of appearance.
+     * @param property credentials property
+     * @return value of first property with given name
+     */
+    public Optional<Object> findCredential(String property) {
+        return find(credentials, property);
+    }
+
+    private static Optional<Object> find(Object node, String property) {
+        if (node instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) node;
+            if (map.get(property) != null) {
+                return Optional.of(map.get(property));
+            }
+            return findFirst(map.values(), property);
+        }
+        if (node instanceof List) {
+            return findFirst((List<?>) node, property);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Object> findFirst(Iterable<?> nodes, String property) {
+        for (Object child : nodes) {
+            final Optional<Object> value = find(child, property);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        // credentials left out on purpose, they end up in logs
+        return String.format("VcapService [name=%s, label=%s, plan=%s, tags=%s]", name, label, plan, tags);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service bindings of application environment indexed by name, label and tag. Built by a
+ * single walk over the environment, lookups do not scan it again.
+ */
+public final class VcapServices {
+
+    private static final String NAME = "name";
+    private static final String LABEL = "label";
+
+    private final List<VcapService> services;
+    private final Map<String, VcapService> byName;
+    private final ListMultimap<String, VcapService> byLabel;
+    private final ListMultimap<String, VcapService> byTag;
+
+    private VcapServices(List<VcapService> services) {
+        this.services = ImmutableList.copyOf(services);
+        // names are unique within VCAP_SERVICES, first one wins otherwise
+        final Map<String, VcapService> names = new LinkedHashMap<>();
+        services.forEach(service -> names.putIfAbsent(service.getName(), service));
+        this.byName = ImmutableMap.copyOf(names);
+        final ImmutableListMultimap.Builder<String, VcapService> labels = ImmutableListMultimap.builder();
+        final ImmutableListMultimap.Builder<String, VcapService> tags = ImmutableListMultimap.builder();
+        services.forEach(service -> {
+            if (service.getLabel() != null) {
+                labels.put(service.getLabel(), service);
+            }
+            service.getTags().forEach(tag -> tags.put(tag, service));
+        });
+        this.byLabel = labels.build();
+        this.byTag = tags.build();
+    }
+
+    /**
+     * Finds service bindings in environment returned by Cloud Controller. Every object having
+     * both name and label is taken as a binding, wherever it is nested, e.g. in
+     * system_env_json.VCAP_SERVICES.
+     * @param env environment as maps and lists
+     */
+    public static VcapServices of(Object env) {
+        final ImmutableList.Builder<VcapService> services = ImmutableList.builder();
+        collect(env, services);
+        return new VcapServices(services.build());
+    }
+
+    private static void collect(Object node, ImmutableList.Builder<VcapService> services) {
+        if (node instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) node;
+            if (map.get(NAME) instanceof String && map.get(LABEL) instanceof String) {
+                services.add(toService(map));
+            } else {
+                map.values().forEach(child -> collect(child, services));
+            }
+        } else if (node instanceof List) {
+            ((List<?>) node).forEach(child -> collect(child, services));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VcapService toService(Map<?, ?> binding) {
+        final Object tags = binding.get("tags");
+        final Object credentials = binding.get("credentials");
+        final Object plan = binding.get("plan");
+        // immutable maps do not take nulls, such credentials are dropped
+        return new VcapService((String) binding.get(NAME), (String) binding.get(LABEL),
+            plan instanceof String ? (String) plan : null,
+            tags instanceof List
+                ? ((List<?>) tags).stream().map(String::valueOf).collect(Collectors.toList())
+                : ImmutableList.of(),
+            credentials instanceof Map
+                ? Maps.filterValues((Map<String, Object>) credentials, Objects::nonNull)
+                : ImmutableMap.of());
+    }
+
+    public List<VcapService> getServices() {
+        return services;
+    }
+
+    public Optional<VcapService> findByName(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    public List<VcapService> findByLabel(String label) {
+        return byLabel.get(label);
+    }
+
+    public List<VcapService> findByTag(String tag) {
+        return byTag.get(tag);
+    }
+
+    /**
+     * @param names service names
+     * @return credentials of services with given names, in order of names; names without
+     * a binding are left out
+     */
+    public Map<String, Map<String, Object>> credentialsFor(Collection<String> names) {
+        final Map<String, Map<String, Object>> credentials = new LinkedHashMap<>();
+        names.forEach(name -> findByName(name)
+            .ifPresent(service -> credentials.put(name, service.getCredentials())));
+        return credentials;
+    }
+}
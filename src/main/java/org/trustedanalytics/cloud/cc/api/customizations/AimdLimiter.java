@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit of requests in flight adjusted by additive increase and multiplicative decrease: every
+ * request completed without congestion while the limit was in use grows it by 1/limit, so the
+ * limit grows by one per round trip, and every congested one multiplies it by the backoff ratio.
+ */
+final class AimdLimiter {
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final int min;
+    private final int max;
+    private final double backoffRatio;
+    private double limit;
+    private int inFlight;
+
+    AimdLimiter(int initial, int min, int max, double backoffRatio) {
+        this.limit = initial;
+        this.min = min;
+        this.max = max;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * @param deadline {@link System#nanoTime()} until which caller may wait
+     * @return true if caller may start a request, false if deadline passed
+     */
+    boolean acquire(long deadline) throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param congested true if request was throttled, failed or was too slow
+     * @return limit after adjustment
+     */
+    int release(boolean congested) {
+        lock.lock();
+        try {
+            final boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (congested) {
+                limit = Math.max(min, limit * backoffRatio);
+            } else if (saturated) {
+                // limit not in use says nothing about the capacity of the server
+                limit = Math.min(max, limit + 1 / limit);
+            }
+            released.signalAll();
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign transport backed by Apache HttpClient with a pool of persistent HTTP/1.1 connections.
+ * Unlike the default HttpURLConnection based client it bounds number of sockets, reuses TLS
+ * sessions across requests and closes idle connections in background.
+ */
+public class ApacheHttpClient implements Client, Closeable {
+
+    private static final long MAX_EVICTION_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    // shared by all pools, eviction is short and infrequent
+    private static final ScheduledExecutorService EVICTION_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cf-client-connection-eviction-%d").build());
+
+    private final CloseableHttpClient httpClient;
+    private final ScheduledFuture<?> eviction;
+
+    /**
+     * Creates client with its own connection pool.
+     * @param settings pool sizing and connections lifetime
+     */
+    public ApacheHttpClient(ConnectionPoolSettings settings) {
+        Objects.requireNonNull(settings);
+        final PoolingHttpClientConnectionManager connectionManager =
+            new PoolingHttpClientConnectionManager(settings.getTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(settings.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+
+        this.httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setKeepAliveStrategy((response, context) -> {
+                final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : settings.getKeepAliveMillis();
+            })
+            .disableAutomaticRetries()
+            .disableRedirectHandling()
+            .disableCookieManagement()
+            .build();
+
+        final long period = Math.min(settings.getIdleTimeoutMillis(), MAX_EVICTION_PERIOD_MILLIS);
+        this.eviction = EVICTION_EXECUTOR.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(settings.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates client on top of already configured HttpClient. Idle connections are not evicted
+     * unless the given client does it.
+     * @param httpClient configured client
+     */
+    public ApacheHttpClient(CloseableHttpClient httpClient) {
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.eviction = null;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final RequestBuilder requestBuilder = RequestBuilder.create(request.method())
+            .setUri(request.url())
+            .setConfig(RequestConfig.custom()
+                .setConnectTimeout(options.connectTimeoutMillis())
+                .setConnectionRequestTimeout(options.connectTimeoutMillis())
+                .setSocketTimeout(options.readTimeoutMillis())
+                .build());
+        request.headers().forEach((name, values) -> {
+            // computed by HttpClient from the entity
+            if (!Util.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                values.forEach(value -> requestBuilder.addHeader(name, value));
+            }
+        });
+        if (request.body() != null) {
+            requestBuilder.setEntity(new ByteArrayEntity(request.body()));
+        }
+
+        final HttpResponse response = httpClient.execute(requestBuilder.build());
+        final int status = response.getStatusLine().getStatusCode();
+        final String reason = response.getStatusLine().getReasonPhrase();
+        final HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return Response.create(status, reason, toHeaders(response), (byte[]) null);
+        }
+        final long length = entity.getContentLength();
+        // closing the body stream returns connection to the pool
+        return Response.create(status, reason, toHeaders(response), entity.getContent(),
+            length >= 0 && length <= Integer.MAX_VALUE ? (int) length : null);
+    }
+
+    private static Map<String, Collection<String>> toHeaders(HttpResponse response) {
+        final Map<String, Collection<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getAllHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return Collections.unmodifiableMap(headers);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        httpClient.close();
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every resource interface its own pool of concurrent calls, so that a slow resource,
+ * e.g. service instances waiting for a broker, cannot take all threads of the application and
+ * starve calls of other resources. Calls that cannot get a slot within allowed wait are
+ * rejected with {@link RequestRejectedException} and reported to metrics with the resource name
+ * as limiter.
+ */
+public class BulkheadInterceptor implements ResourceMethodInterceptor {
+
+    private final BulkheadSettings settings;
+    private final ClientMetrics metrics;
+    private final ConcurrentMap<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(BulkheadSettings settings) {
+        this(settings, ClientMetrics.NONE);
+    }
+
+    public BulkheadInterceptor(BulkheadSettings settings, ClientMetrics metrics) {
+        this.settings = Objects.requireNonNull(settings);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * @param resource simple name of resource interface, e.g. CcServiceResource
+     * @return number of free slots of the resource
+     */
+    public int getAvailableCalls(String resource) {
+        final Semaphore bulkhead = bulkheads.get(resource);
+        return bulkhead == null ? settings.getMaxConcurrentCalls(resource) : bulkhead.availablePermits();
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        final String resource = CircuitBreakerInterceptor.resourceName(invocation.getConfigKey());
+        final Semaphore bulkhead = bulkhead(resource);
+        try {
+            if (!bulkhead.tryAcquire(settings.getMaxWaitMillis(), TimeUnit.MILLISECONDS)) {
+                metrics.requestRejected(resource);
+                throw new RequestRejectedException("Bulkhead of " + resource + " is full, call of "
+                    + invocation.getConfigKey() + " rejected");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestRejectedException("Interrupted while waiting to call " + invocation.getConfigKey());
+        }
+        try {
+            return invocation.proceed();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private Semaphore bulkhead(String resource) {
+        final Semaphore bulkhead = bulkheads.get(resource);
+        return bulkhead != null ? bulkhead
+            : bulkheads.computeIfAbsent(resource, name -> new Semaphore(settings.getMaxConcurrentCalls(name), true));
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number of concurrent calls allowed per resource interface by {@link BulkheadInterceptor}.
+ */
+public final class BulkheadSettings {
+
+    /**
+     * 20 concurrent calls per resource, callers waiting at most 1 second for a free slot.
+     */
+    public static final BulkheadSettings DEFAULT = new BulkheadSettings(20, ImmutableMap.of(),
+        TimeUnit.SECONDS.toMillis(1));
+
+    private final int maxConcurrentCalls;
+    private final Map<String, Integer> resourceMaxConcurrentCalls;
+    private final long maxWaitMillis;
+
+    private BulkheadSettings(int maxConcurrentCalls, Map<String, Integer> resourceMaxConcurrentCalls,
+        long maxWaitMillis) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.resourceMaxConcurrentCalls = resourceMaxConcurrentCalls;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * @param maxConcurrentCalls calls of a single resource in flight, unless set for the resource
+     */
+    public BulkheadSettings withMaxConcurrentCalls(int maxConcurrentCalls) {
+        requirePositive(maxConcurrentCalls, "Max concurrent calls");
+        return new BulkheadSettings(maxConcurrentCalls, resourceMaxConcurrentCalls, maxWaitMillis);
+    }
+
+    /**
+     * @param resource resource interface, e.g. CcServiceResource
+     * @param maxConcurrentCalls calls of given resource in flight
+     */
+    public BulkheadSettings withMaxConcurrentCalls(Class<?> resource, int maxConcurrentCalls) {
+        requirePositive(maxConcurrentCalls, "Max concurrent calls");
+        final Map<String, Integer> limits = ImmutableMap.<String, Integer>builder()
+            .putAll(Maps.filterKeys(resourceMaxConcurrentCalls, key -> !key.equals(resource.getSimpleName())))
+            .put(resource.getSimpleName(), maxConcurrentCalls)
+            .build();
+        return new BulkheadSettings(this.maxConcurrentCalls, limits, maxWaitMillis);
+    }
+
+    /**
+     * @param maxWait time a caller may wait for a free slot, after which call is rejected;
+     * 0 rejects calls that cannot start at once
+     */
+    public BulkheadSettings withMaxWait(long maxWait, TimeUnit unit) {
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Max wait must not be negative");
+        }
+        return new BulkheadSettings(maxConcurrentCalls, resourceMaxConcurrentCalls, unit.toMillis(maxWait));
+    }
+
+    /**
+     * @param resource simple name of resource interface
+     */
+    public int getMaxConcurrentCalls(String resource) {
+        return resourceMaxConcurrentCalls.getOrDefault(resource, maxConcurrentCalls);
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkheadSettings [maxConcurrentCalls=%d, resourceMaxConcurrentCalls=%s, "
+            + "maxWaitMillis=%d]", maxConcurrentCalls, resourceMaxConcurrentCalls, maxWaitMillis);
+    }
+}
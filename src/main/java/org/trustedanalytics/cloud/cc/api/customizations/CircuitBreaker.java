@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit of a single resource. Outcomes of the most recent calls are kept in a ring buffer;
+ * all methods are synchronized, they only update a few fields.
+ */
+final class CircuitBreaker {
+
+    private final String name;
+    private final CircuitBreakerSettings settings;
+    private final ClientMetrics metrics;
+    private final long openNanos;
+
+    private final boolean[] failures;
+    private int next;
+    private int recorded;
+    private int failed;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    CircuitBreaker(String name, CircuitBreakerSettings settings, ClientMetrics metrics) {
+        this.name = name;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(settings.getOpenMillis());
+        this.failures = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * @param now current {@link System#nanoTime()}
+     * @return true if call may be sent
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (state == CircuitState.OPEN) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            transition(CircuitState.HALF_OPEN);
+            trialPermits = settings.getTrialCalls();
+            trialSuccesses = 0;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialPermits == 0) {
+                return false;
+            }
+            trialPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back permit of a call that was not sent, so it does not use up a trial.
+     */
+    synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && trialPermits < settings.getTrialCalls() - trialSuccesses) {
+            trialPermits++;
+        }
+    }
+
+    /**
+     * @param failure true if call failed or was slow
+     * @param now current {@link System#nanoTime()}
+     */
+    synchronized void record(boolean failure, long now) {
+        switch (state) {
+            case HALF_OPEN:
+                if (failure) {
+                    open(now);
+                } else if (++trialSuccesses >= settings.getTrialCalls()) {
+                    reset();
+                    transition(CircuitState.CLOSED);
+                }
+                break;
+            case CLOSED:
+                if (recorded == failures.length) {
+                    failed -= failures[next] ? 1 : 0;
+                } else {
+                    recorded++;
+                }
+                failures[next] = failure;
+                failed += failure ? 1 : 0;
+                next = (next + 1) % failures.length;
+                if (recorded >= settings.getMinimumCalls()
+                    && failed * 100 >= settings.getFailureRateThreshold() * recorded) {
+                    open(now);
+                }
+                break;
+            default:
+                // calls started before the circuit opened
+                break;
+        }
+    }
+
+    synchronized CircuitState getState() {
+        return state;
+    }
+
+    private void open(long now) {
+        openedAt = now;
+        reset();
+        transition(CircuitState.OPEN);
+    }
+
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        failed = 0;
+    }
+
+    private void transition(CircuitState target) {
+        state = target;
+        metrics.circuitStateChanged(name, target.name());
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fails calls of a resource interface fast while it is unhealthy. Every resource, e.g.
+ * CcServiceResource, has its own circuit that opens when the share of failed or slow calls
+ * crosses the threshold, see {@link CircuitBreakerSettings}. While open, calls are rejected with
+ * {@link CircuitOpenException}; after a while a few trial calls are let through and their
+ * outcome decides whether the circuit closes or opens again.
+ *
+ * <p>Failures are exceptions other than client errors (4xx responses). Calls rejected by inner
+ * interceptors with {@link RequestRejectedException} never reached Cloud Controller, so they are
+ * not recorded and give back their trial permit. Latency includes time spent in inner
+ * interceptors, so limiters that queue calls, e.g. {@link BulkheadInterceptor}, belong outside
+ * the breaker. State transitions are reported to metrics with the resource name as circuit.
+ */
+public class CircuitBreakerInterceptor implements ResourceMethodInterceptor {
+
+    private final CircuitBreakerSettings settings;
+    private final ClientMetrics metrics;
+    private final long slowCallNanos;
+    private final ConcurrentMap<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(CircuitBreakerSettings settings) {
+        this(settings, ClientMetrics.NONE);
+    }
+
+    public CircuitBreakerInterceptor(CircuitBreakerSettings settings, ClientMetrics metrics) {
+        this.settings = Objects.requireNonNull(settings);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(settings.getSlowCallMillis());
+    }
+
+    /**
+     * @param resource simple name of resource interface, e.g. CcServiceResource
+     * @return state of the circuit, closed if resource was never called
+     */
+    public CircuitState getState(String resource) {
+        final CircuitBreaker circuit = circuits.get(resource);
+        return circuit == null ? CircuitState.CLOSED : circuit.getState();
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        final String resource = resourceName(invocation.getConfigKey());
+        final CircuitBreaker circuit = circuit(resource);
+        if (!circuit.tryAcquire(System.nanoTime())) {
+            throw new CircuitOpenException("Circuit of " + resource + " is open, call of "
+                + invocation.getConfigKey() + " rejected");
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final Object result = invocation.proceed();
+            record(circuit, false, start);
+            return result;
+        } catch (RequestRejectedException e) {
+            circuit.release();
+            throw e;
+        } catch (Throwable e) {
+            record(circuit, isFailure(e), start);
+            throw e;
+        }
+    }
+
+    private void record(CircuitBreaker circuit, boolean failure, long start) {
+        final long now = System.nanoTime();
+        circuit.record(failure || now - start > slowCallNanos, now);
+    }
+
+    private CircuitBreaker circuit(String resource) {
+        final CircuitBreaker circuit = circuits.get(resource);
+        return circuit != null ? circuit
+            : circuits.computeIfAbsent(resource, name -> new CircuitBreaker(name, settings, metrics));
+    }
+
+    /**
+     * @return part of Feign configuration key before the method name, e.g. CcSpaceResource
+     */
+    static String resourceName(String configKey) {
+        final int hash = configKey.indexOf('#');
+        return hash < 0 ? configKey : configKey.substring(0, hash);
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof CloudFoundryException) {
+            return ((CloudFoundryException) e).getHttpCode() >= 500;
+        }
+        if (e instanceof FeignResponseException) {
+            return ((FeignResponseException) e).getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When {@link CircuitBreakerInterceptor} opens the circuit of a resource and how it recovers.
+ */
+public final class CircuitBreakerSettings {
+
+    /**
+     * Circuit opened when half of the last 20 calls failed or were slower than 10 seconds, once
+     * at least 10 calls were made; kept open for 30 seconds, then closed after 3 successful
+     * trial calls.
+     */
+    public static final CircuitBreakerSettings DEFAULT = new CircuitBreakerSettings(50, 20, 10,
+        TimeUnit.SECONDS.toMillis(10), TimeUnit.SECONDS.toMillis(30), 3);
+
+    private final int failureRateThreshold;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long slowCallMillis;
+    private final long openMillis;
+    private final int trialCalls;
+
+    private CircuitBreakerSettings(int failureRateThreshold, int windowSize, int minimumCalls,
+        long slowCallMillis, long openMillis, int trialCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.slowCallMillis = slowCallMillis;
+        this.openMillis = openMillis;
+        this.trialCalls = trialCalls;
+    }
+
+    /**
+     * @param failureRateThreshold percentage of failed or slow calls that opens the circuit
+     */
+    public CircuitBreakerSettings withFailureRateThreshold(int failureRateThreshold) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 1 and 100");
+        }
+        return new CircuitBreakerSettings(failureRateThreshold, windowSize, minimumCalls, slowCallMillis,
+            openMillis, trialCalls);
+    }
+
+    /**
+     * @param windowSize number of most recent calls the failure rate is computed of
+     * @param minimumCalls number of calls that must be recorded before circuit can open
+     */
+    public CircuitBreakerSettings withWindow(int windowSize, int minimumCalls) {
+        requirePositive(minimumCalls, "Minimum calls");
+        if (windowSize < minimumCalls) {
+            throw new IllegalArgumentException("Window size must not be less than minimum calls");
+        }
+        return new CircuitBreakerSettings(failureRateThreshold, windowSize, minimumCalls, slowCallMillis,
+            openMillis, trialCalls);
+    }
+
+    /**
+     * @param slowCall duration after which successful call is counted as failed
+     */
+    public CircuitBreakerSettings withSlowCall(long slowCall, TimeUnit unit) {
+        requirePositive(slowCall, "Slow call duration");
+        return new CircuitBreakerSettings(failureRateThreshold, windowSize, minimumCalls, unit.toMillis(slowCall),
+            openMillis, trialCalls);
+    }
+
+    /**
+     * @param open time calls fail fast before trial calls are let through
+     * @param trialCalls number of successful trial calls that close the circuit
+     */
+    public CircuitBreakerSettings withRecovery(long open, TimeUnit unit, int trialCalls) {
+        requirePositive(open, "Open duration");
+        requirePositive(trialCalls, "Trial calls");
+        return new CircuitBreakerSettings(failureRateThreshold, windowSize, minimumCalls, slowCallMillis,
+            unit.toMillis(open), trialCalls);
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public long getOpenMillis() {
+        return openMillis;
+    }
+
+    public int getTrialCalls() {
+        return trialCalls;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreakerSettings [failureRateThreshold=%d, windowSize=%d, minimumCalls=%d, "
+                + "slowCallMillis=%d, openMillis=%d, trialCalls=%d]", failureRateThreshold, windowSize,
+            minimumCalls, slowCallMillis, openMillis, trialCalls);
+    }
+}
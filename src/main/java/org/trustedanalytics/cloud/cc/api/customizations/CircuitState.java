@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+/**
+ * State of a circuit guarding calls of a resource, see {@link CircuitBreakerInterceptor}.
+ */
+public enum CircuitState {
+    /**
+     * Calls pass, their outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * Calls fail fast with {@link CircuitOpenException}.
+     */
+    OPEN,
+    /**
+     * Limited number of trial calls pass, the first failure opens the circuit again.
+     */
+    HALF_OPEN
+}
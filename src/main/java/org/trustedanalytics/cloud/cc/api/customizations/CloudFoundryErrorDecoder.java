@@ -18,18 +18,28 @@ package org.trustedanalytics.cloud.cc.api.customizations;
 import com.google.common.collect.ImmutableList;
 
 import feign.Response;
+import feign.RetryableException;
 import feign.codec.ErrorDecoder;
 
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * https://docs.cloudfoundry.org/running/troubleshooting/v2-errors.html
  */
 public class CloudFoundryErrorDecoder implements ErrorDecoder {
+    private static final String RETRY_AFTER = "Retry-After";
+
     private final ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
-    private final Collection<ErrorDecoderHandler> handlers;
+    private final ImmutableList<ErrorDecoderHandler> handlers;
+    private final boolean retryableErrors;
 
     public CloudFoundryErrorDecoder() {
         this(Collections.emptyList());
@@ -40,17 +50,63 @@ public class CloudFoundryErrorDecoder implements ErrorDecoder {
     }
 
     public CloudFoundryErrorDecoder(Collection<ErrorDecoderHandler> handlers) {
-        this.handlers = ImmutableList.<ErrorDecoderHandler>builder()
-                                     .addAll(handlers)
-                                     .add(new CloudFoundryErrorDecoderHandler())
-                                     .build();
+        this(ImmutableList.<ErrorDecoderHandler>builder()
+                          .addAll(handlers)
+                          .add(new CloudFoundryErrorDecoderHandler())
+                          .build(), false);
+    }
+
+    private CloudFoundryErrorDecoder(ImmutableList<ErrorDecoderHandler> handlers, boolean retryableErrors) {
+        this.handlers = handlers;
+        this.retryableErrors = retryableErrors;
+    }
+
+    /**
+     * Returns decoder with the same handlers that wraps errors classified as retryable by
+     * {@link ErrorDecoderHandler#isRetryable(Response)} in {@link RetryableException}, carrying
+     * the decoded exception as cause and time from Retry-After header. Use it together with
+     * {@link RetryingInterceptor}, which unwraps the cause when it gives up.
+     */
+    public CloudFoundryErrorDecoder withRetryableErrors() {
+        return new CloudFoundryErrorDecoder(handlers, true);
     }
 
     @Override
     public Exception decode(String methodKey, Response response) {
-        return handlers.stream().filter(handler -> handler.test(response))
-                       .findFirst()
-                       .map(handler -> handler.apply(methodKey, response))
-                       .orElse(defaultDecoder.decode(methodKey, response));
+        final ErrorDecoderHandler handler = handlers.stream().filter(h -> h.test(response))
+                                                    .findFirst()
+                                                    .orElse(null);
+        if (handler == null) {
+            return defaultDecoder.decode(methodKey, response);
+        }
+        final Exception exception = handler.apply(methodKey, response);
+        if (retryableErrors && handler.isRetryable(response)) {
+            return new RetryableException(exception.getMessage(), exception, retryAfter(response));
+        }
+        return exception;
+    }
+
+    /**
+     * @return time given by Retry-After header in seconds or as http date, null if absent
+     */
+    static Date retryAfter(Response response) {
+        for (Map.Entry<String, Collection<String>> header : response.headers().entrySet()) {
+            if (RETRY_AFTER.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return parseRetryAfter(header.getValue().iterator().next().trim());
+            }
+        }
+        return null;
+    }
+
+    private static Date parseRetryAfter(String value) {
+        try {
+            return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            try {
+                return Date.from(ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
     }
 }
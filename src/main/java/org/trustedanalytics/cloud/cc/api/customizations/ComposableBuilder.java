@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import feign.Client;
+import feign.Feign;
+import feign.InvocationHandlerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Feign builder remembering transport and resource method interceptors installed so far, so
+ * customizations applied one after another can wrap and extend them instead of replacing them,
+ * see {@link org.trustedanalytics.cloud.cc.FeignClientPresets}. Installing another invocation
+ * handler factory drops interceptors added before.
+ */
+public class ComposableBuilder extends Feign.Builder {
+
+    private final List<ResourceMethodInterceptor> interceptors = new ArrayList<>();
+    private Client client = new Client.Default(null, null);
+
+    @Override
+    public Feign.Builder client(Client client) {
+        this.client = Objects.requireNonNull(client);
+        return super.client(client);
+    }
+
+    @Override
+    public Feign.Builder invocationHandlerFactory(InvocationHandlerFactory invocationHandlerFactory) {
+        interceptors.clear();
+        return super.invocationHandlerFactory(invocationHandlerFactory);
+    }
+
+    /**
+     * @return transport installed last, Feign's default one if none was
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    /**
+     * Appends interceptors to the ones added before, calls pass through earlier ones first.
+     * @param added interceptors in order of invocation
+     * @return this builder
+     */
+    public ComposableBuilder addInterceptors(List<ResourceMethodInterceptor> added) {
+        interceptors.addAll(added);
+        super.invocationHandlerFactory(new InterceptingInvocationHandlerFactory(interceptors));
+        return this;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing and lifetime of pooled connections used by {@link ApacheHttpClient}.
+ */
+public final class ConnectionPoolSettings {
+
+    /**
+     * 100 connections in total, 50 per route, idle connections closed after 30 seconds, connections
+     * kept alive for 60 seconds unless server says otherwise and reopened every 10 minutes.
+     */
+    public static final ConnectionPoolSettings DEFAULT = new ConnectionPoolSettings(100, 50,
+        TimeUnit.SECONDS.toMillis(30), TimeUnit.SECONDS.toMillis(60), TimeUnit.MINUTES.toMillis(10));
+
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final long idleTimeoutMillis;
+    private final long keepAliveMillis;
+    private final long timeToLiveMillis;
+
+    private ConnectionPoolSettings(int maxConnections, int maxConnectionsPerRoute, long idleTimeoutMillis,
+        long keepAliveMillis, long timeToLiveMillis) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.keepAliveMillis = keepAliveMillis;
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    /**
+     * @param maxConnections maximum number of open connections to all hosts
+     */
+    public ConnectionPoolSettings withMaxConnections(int maxConnections) {
+        requirePositive(maxConnections, "Max connections");
+        return new ConnectionPoolSettings(maxConnections, maxConnectionsPerRoute, idleTimeoutMillis,
+            keepAliveMillis, timeToLiveMillis);
+    }
+
+    /**
+     * @param maxConnectionsPerRoute maximum number of open connections to a single host, all Cloud
+     * Controller requests share one route
+     */
+    public ConnectionPoolSettings withMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        requirePositive(maxConnectionsPerRoute, "Max connections per route");
+        return new ConnectionPoolSettings(maxConnections, maxConnectionsPerRoute, idleTimeoutMillis,
+            keepAliveMillis, timeToLiveMillis);
+    }
+
+    /**
+     * @param idleTimeout time after which unused connection is closed by background eviction
+     */
+    public ConnectionPoolSettings withIdleTimeout(long idleTimeout, TimeUnit unit) {
+        requirePositive(idleTimeout, "Idle timeout");
+        return new ConnectionPoolSettings(maxConnections, maxConnectionsPerRoute, unit.toMillis(idleTimeout),
+            keepAliveMillis, timeToLiveMillis);
+    }
+
+    /**
+     * @param keepAlive how long connection is reused when response has no Keep-Alive header
+     */
+    public ConnectionPoolSettings withKeepAlive(long keepAlive, TimeUnit unit) {
+        requirePositive(keepAlive, "Keep alive");
+        return new ConnectionPoolSettings(maxConnections, maxConnectionsPerRoute, idleTimeoutMillis,
+            unit.toMillis(keepAlive), timeToLiveMillis);
+    }
+
+    /**
+     * @param timeToLive maximum lifetime of a connection, bounds how long DNS changes go unnoticed
+     */
+    public ConnectionPoolSettings withTimeToLive(long timeToLive, TimeUnit unit) {
+        requirePositive(timeToLive, "Time to live");
+        return new ConnectionPoolSettings(maxConnections, maxConnectionsPerRoute, idleTimeoutMillis,
+            keepAliveMillis, unit.toMillis(timeToLive));
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPoolSettings [maxConnections=%d, maxConnectionsPerRoute=%d, "
+                + "idleTimeoutMillis=%d, keepAliveMillis=%d, timeToLiveMillis=%d]", maxConnections,
+            maxConnectionsPerRoute, idleTimeoutMillis, keepAliveMillis, timeToLiveMillis);
+    }
+}
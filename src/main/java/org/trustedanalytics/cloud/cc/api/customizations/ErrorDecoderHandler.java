@@ -25,4 +25,16 @@ import java.util.function.Predicate;
  * particular http status code and transforming it to exception object.
  */
 public interface ErrorDecoderHandler extends BiFunction<String, Response, Exception>, Predicate<Response> {
+
+    /**
+     * Tells whether the request may succeed if sent again. Consulted only by decoders created
+     * with {@link CloudFoundryErrorDecoder#withRetryableErrors()}. Default implementation treats
+     * 429, 502, 503 and 504 as transient.
+     * @param response response this handler was applied to
+     * @return true if the error is transient
+     */
+    default boolean isRetryable(Response response) {
+        final int status = response.status();
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
 }
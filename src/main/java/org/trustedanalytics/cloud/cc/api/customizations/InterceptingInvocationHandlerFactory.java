@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import com.google.common.collect.ImmutableList;
+
+import feign.Feign;
+import feign.InvocationHandlerFactory;
+import feign.RequestLine;
+import feign.Target;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Passes every resource method call through given interceptors. The first interceptor is the
+ * outermost one. Feign accepts only one invocation handler factory per builder, so
+ * {@link ComposableBuilder} installs a new one with all interceptors every time some are added.
+ */
+public class InterceptingInvocationHandlerFactory implements InvocationHandlerFactory {
+
+    private final InvocationHandlerFactory delegate = new InvocationHandlerFactory.Default();
+    private final List<ResourceMethodInterceptor> interceptors;
+
+    public InterceptingInvocationHandlerFactory(List<ResourceMethodInterceptor> interceptors) {
+        this.interceptors = ImmutableList.copyOf(interceptors);
+    }
+
+    @Override
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+        final Map<Method, MethodHandler> intercepted = new LinkedHashMap<>();
+        dispatch.forEach((method, handler) -> intercepted.put(method, intercept(target, method, handler)));
+        return delegate.create(target, intercepted);
+    }
+
+    private MethodHandler intercept(Target<?> target, Method method, MethodHandler handler) {
+        final String configKey = Feign.configKey(method);
+        final String httpMethod = httpMethod(method);
+        MethodHandler chain = handler;
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            final ResourceMethodInterceptor interceptor = interceptors.get(i);
+            final MethodHandler next = chain;
+            chain = args -> interceptor.intercept(
+                new ResourceInvocation(target, method, configKey, httpMethod, args, next));
+        }
+        return chain;
+    }
+
+    private static String httpMethod(Method method) {
+        final RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        return requestLine == null ? null : requestLine.value().trim().split(" ", 2)[0];
+    }
+}
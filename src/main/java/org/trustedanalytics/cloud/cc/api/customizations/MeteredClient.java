@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+import org.trustedanalytics.cloud.metrics.Operations;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Records latency, status and size of every response received by another {@link Client}.
+ * Operations are named by http method and path template, see {@link Operations}. When size of
+ * the body is not known from headers, it is counted as the body is read and reported when it
+ * is closed.
+ */
+public class MeteredClient implements Client {
+
+    private final Client delegate;
+    private final ClientMetrics metrics;
+
+    public MeteredClient(Client delegate, ClientMetrics metrics) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final String operation = Operations.name(request.method(), request.url());
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            metrics.requestFailed(operation, System.nanoTime() - start);
+            throw e;
+        }
+        metrics.requestCompleted(operation, response.status(), System.nanoTime() - start);
+
+        if (response.body() == null) {
+            return response;
+        }
+        final Integer length = response.body().length();
+        if (length != null) {
+            metrics.bytesReceived(operation, length);
+            return response;
+        }
+        return Response.create(response.status(), response.reason(), response.headers(),
+            new CountingInputStream(response.body().asInputStream(), operation), null);
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+        private final String operation;
+        private long count;
+        private boolean closed;
+
+        private CountingInputStream(InputStream in, String operation) {
+            super(in);
+            this.operation = operation;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.bytesReceived(operation, count);
+            }
+            super.close();
+        }
+    }
+}
@@ -15,24 +15,38 @@
  */
 package org.trustedanalytics.cloud.cc.api.customizations;
 
+import org.trustedanalytics.cloud.auth.TokenManager;
+
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 
 import java.util.function.Supplier;
 
 public class OAuth2RequestInterceptor implements RequestInterceptor {
-    private final Supplier<String> tokenSupplier;
+    private final Supplier<String> headerSupplier;
 
     public OAuth2RequestInterceptor(String token) {
-        this(() -> token);
+        final String header = "bearer " + token;
+        this.headerSupplier = () -> header;
     }
 
+    /**
+     * @param tokenSupplier called for every request, e.g. to send token of the current user
+     */
     public OAuth2RequestInterceptor(Supplier<String> tokenSupplier) {
-        this.tokenSupplier = tokenSupplier;
+        this.headerSupplier = () -> "bearer " + tokenSupplier.get();
+    }
+
+    /**
+     * Sends header cached by given manager, see {@link TokenManager}. To retry requests rejected
+     * because the token was revoked, install {@link TokenRefreshingInterceptor} as well.
+     */
+    public OAuth2RequestInterceptor(TokenManager tokens) {
+        this.headerSupplier = tokens::getAuthorizationHeader;
     }
 
     @Override
     public void apply(RequestTemplate template) {
-        template.header("Authorization", "bearer " + tokenSupplier.get());
+        template.header("Authorization", headerSupplier.get());
     }
 }
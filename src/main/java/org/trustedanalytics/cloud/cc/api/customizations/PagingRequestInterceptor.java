@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sets paging parameters on requests of paged collections. Resource methods stay as they are
+ * annotated, options are given for the duration of a call with {@link #withPaging} and replace
+ * parameters of the request template, including ones carried by next_url of a page.
+ */
+public class PagingRequestInterceptor implements RequestInterceptor {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    /**
+     * Calls resource method in the current thread with given paging options.
+     * @param paging options applied to requests sent by the call
+     * @param call resource method call
+     * @return result of the call
+     */
+    public static <T> T withPaging(PagingOptions paging, Supplier<T> call) {
+        return withPaging(paging, path -> { }, call);
+    }
+
+    /**
+     * Calls resource method in the current thread with given paging options.
+     * @param paging options applied to requests sent by the call
+     * @param requested receives path of every request sent by the call
+     * @param call resource method call
+     * @return result of the call
+     */
+    public static <T> T withPaging(PagingOptions paging, Consumer<String> requested, Supplier<T> call) {
+        final Scope previous = SCOPE.get();
+        SCOPE.set(new Scope(Objects.requireNonNull(paging), Objects.requireNonNull(requested)));
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return options of the call in progress in the current thread, defaults outside of it
+     */
+    public static PagingOptions currentPaging() {
+        final Scope scope = SCOPE.get();
+        return scope == null ? PagingOptions.DEFAULT : scope.paging;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return;
+        }
+        scope.paging.parameters().forEach(template::query);
+        scope.requested.accept(template.url());
+    }
+
+    private static final class Scope {
+        private final PagingOptions paging;
+        private final Consumer<String> requested;
+
+        private Scope(PagingOptions paging, Consumer<String> requested) {
+            this.paging = paging;
+            this.requested = requested;
+        }
+    }
+}
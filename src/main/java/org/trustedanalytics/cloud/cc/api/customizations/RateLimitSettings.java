@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request rate and adaptive concurrency bounds applied by {@link RateLimitingInterceptor}.
+ */
+public final class RateLimitSettings {
+
+    /**
+     * 50 requests per second with bursts of 50, concurrency starting at 10 and kept between 1 and
+     * 64, responses slower than 10 seconds treated as congestion, limit cut by 30% on congestion
+     * and callers waiting at most 30 seconds before request is shed.
+     */
+    public static final RateLimitSettings DEFAULT = new RateLimitSettings(50, 50, 10, 1, 64,
+        TimeUnit.SECONDS.toMillis(10), 0.7, TimeUnit.SECONDS.toMillis(30));
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int initialConcurrency;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long latencyThresholdMillis;
+    private final double backoffRatio;
+    private final long maxWaitMillis;
+
+    private RateLimitSettings(double permitsPerSecond, int burst, int initialConcurrency, int minConcurrency,
+        int maxConcurrency, long latencyThresholdMillis, double backoffRatio, long maxWaitMillis) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.initialConcurrency = initialConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.backoffRatio = backoffRatio;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * @param permitsPerSecond sustained number of requests started per second
+     * @param burst number of requests that can be started at once after a quiet period
+     */
+    public RateLimitSettings withRate(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        requirePositive(burst, "Burst");
+        return new RateLimitSettings(permitsPerSecond, burst, initialConcurrency, minConcurrency,
+            maxConcurrency, latencyThresholdMillis, backoffRatio, maxWaitMillis);
+    }
+
+    /**
+     * @param initial limit of requests in flight before anything was observed
+     * @param min limit is never decreased below this value
+     * @param max limit is never increased above this value
+     */
+    public RateLimitSettings withConcurrency(int initial, int min, int max) {
+        requirePositive(min, "Min concurrency");
+        if (initial < min || initial > max) {
+            throw new IllegalArgumentException("Initial concurrency must be between min and max");
+        }
+        return new RateLimitSettings(permitsPerSecond, burst, initial, min, max, latencyThresholdMillis,
+            backoffRatio, maxWaitMillis);
+    }
+
+    /**
+     * @param latencyThreshold responses slower than this decrease concurrency limit like 429
+     * and 503 responses do
+     */
+    public RateLimitSettings withLatencyThreshold(long latencyThreshold, TimeUnit unit) {
+        requirePositive(latencyThreshold, "Latency threshold");
+        return new RateLimitSettings(permitsPerSecond, burst, initialConcurrency, minConcurrency,
+            maxConcurrency, unit.toMillis(latencyThreshold), backoffRatio, maxWaitMillis);
+    }
+
+    /**
+     * @param backoffRatio factor concurrency limit is multiplied by on congestion, between 0 and 1
+     */
+    public RateLimitSettings withBackoffRatio(double backoffRatio) {
+        if (!(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        return new RateLimitSettings(permitsPerSecond, burst, initialConcurrency, minConcurrency,
+            maxConcurrency, latencyThresholdMillis, backoffRatio, maxWaitMillis);
+    }
+
+    /**
+     * @param maxWait time a caller may be queued waiting for a permit, after which request is
+     * rejected; 0 rejects requests that cannot start at once
+     */
+    public RateLimitSettings withMaxWait(long maxWait, TimeUnit unit) {
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Max wait must not be negative");
+        }
+        return new RateLimitSettings(permitsPerSecond, burst, initialConcurrency, minConcurrency,
+            maxConcurrency, latencyThresholdMillis, backoffRatio, unit.toMillis(maxWait));
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getInitialConcurrency() {
+        return initialConcurrency;
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RateLimitSettings [permitsPerSecond=%.1f, burst=%d, concurrency=%d (%d-%d), "
+                + "latencyThresholdMillis=%d, backoffRatio=%.2f, maxWaitMillis=%d]", permitsPerSecond, burst,
+            initialConcurrency, minConcurrency, maxConcurrency, latencyThresholdMillis, backoffRatio,
+            maxWaitMillis);
+    }
+}
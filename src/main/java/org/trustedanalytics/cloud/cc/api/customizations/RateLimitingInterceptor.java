@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import feign.RetryableException;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits rate and concurrency of resource method calls. Every call first takes a permit from a
+ * token bucket and then a slot of an adaptive concurrency limit, see {@link RateLimitSettings}.
+ * The limit shrinks when Cloud Controller answers 429 or 503, when the request fails with an I/O
+ * error and when the response is slower than the latency threshold, and grows back slowly while
+ * requests succeed. Callers wait for a permit and a slot in order of arrival; those that cannot
+ * start within allowed wait get {@link RequestRejectedException}.
+ *
+ * <p>One interceptor holds one limit, install a separate one for every client that should be
+ * limited on its own.
+ */
+public class RateLimitingInterceptor implements ResourceMethodInterceptor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final String name;
+    private final ClientMetrics metrics;
+    private final TokenBucket bucket;
+    private final AimdLimiter limiter;
+    private final long maxWaitNanos;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger reportedLimit;
+
+    public RateLimitingInterceptor(RateLimitSettings settings) {
+        this(settings, ClientMetrics.NONE, "cc");
+    }
+
+    /**
+     * @param settings rate and concurrency bounds
+     * @param metrics receives changes of concurrency limit and rejected requests
+     * @param name name of the limiter reported to metrics
+     */
+    public RateLimitingInterceptor(RateLimitSettings settings, ClientMetrics metrics, String name) {
+        this.name = Objects.requireNonNull(name);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.bucket = new TokenBucket(settings.getPermitsPerSecond(), settings.getBurst());
+        this.limiter = new AimdLimiter(settings.getInitialConcurrency(), settings.getMinConcurrency(),
+            settings.getMaxConcurrency(), settings.getBackoffRatio());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(settings.getMaxWaitMillis());
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(settings.getLatencyThresholdMillis());
+        this.reportedLimit = new AtomicInteger(settings.getInitialConcurrency());
+        metrics.concurrencyLimitChanged(name, settings.getInitialConcurrency());
+    }
+
+    /**
+     * @return current number of requests allowed in flight
+     */
+    public int getConcurrencyLimit() {
+        return limiter.getLimit();
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        acquire(invocation.getConfigKey());
+
+        final long start = System.nanoTime();
+        boolean congested = false;
+        try {
+            return invocation.proceed();
+        } catch (CloudFoundryException e) {
+            congested = isThrottling(e.getHttpCode());
+            throw e;
+        } catch (FeignResponseException e) {
+            congested = isThrottling(e.getStatusCode().value());
+            throw e;
+        } catch (RetryableException e) {
+            // connection refused or timed out, after Feign gave up retrying
+            congested = true;
+            throw e;
+        } finally {
+            congested |= System.nanoTime() - start > latencyThresholdNanos;
+            final int limit = limiter.release(congested);
+            if (reportedLimit.getAndSet(limit) != limit) {
+                metrics.concurrencyLimitChanged(name, limit);
+            }
+        }
+    }
+
+    private void acquire(String configKey) {
+        final long now = System.nanoTime();
+        final long wait = bucket.reserve(now, maxWaitNanos);
+        if (wait < 0) {
+            throw reject(configKey, "rate limit");
+        }
+        try {
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (!limiter.acquire(now + maxWaitNanos)) {
+                throw reject(configKey, "concurrency limit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestRejectedException("Interrupted while waiting to call " + configKey);
+        }
+    }
+
+    private RequestRejectedException reject(String configKey, String limit) {
+        metrics.requestRejected(name);
+        return new RequestRejectedException(
+            String.format("Call of %s rejected by %s of %s client", configKey, limit, name));
+    }
+
+    private static boolean isThrottling(int status) {
+        return status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+
+import java.lang.reflect.Method;
+
+/**
+ * Single call of a Feign resource method passed through {@link ResourceMethodInterceptor}s.
+ */
+public final class ResourceInvocation {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Target<?> target;
+    private final Method method;
+    private final String configKey;
+    private final String httpMethod;
+    private final Object[] args;
+    private final MethodHandler next;
+
+    ResourceInvocation(Target<?> target, Method method, String configKey, String httpMethod, Object[] args,
+        MethodHandler next) {
+        this.target = target;
+        this.method = method;
+        this.configKey = configKey;
+        this.httpMethod = httpMethod;
+        this.args = args == null ? NO_ARGS : args;
+        this.next = next;
+    }
+
+    public Target<?> getTarget() {
+        return target;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return Feign configuration key, e.g. CcSpaceResource#getSpace(UUID)
+     */
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    /**
+     * @return HTTP method from the RequestLine annotation, e.g. GET
+     */
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    /**
+     * Continues the call with the next interceptor or, after the last one, performs the request.
+     */
+    public Object proceed() throws Throwable {
+        return next.invoke(args);
+    }
+}
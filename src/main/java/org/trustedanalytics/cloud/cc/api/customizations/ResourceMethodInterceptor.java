@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+/**
+ * Adds behaviour around calls of Feign resource methods, e.g. request collapsing. Installed with
+ * {@link InterceptingInvocationHandlerFactory}.
+ */
+@FunctionalInterface
+public interface ResourceMethodInterceptor {
+
+    /**
+     * @param invocation resource method call, {@link ResourceInvocation#proceed()} passes it to
+     * the next interceptor and finally to Feign
+     * @return result of the resource method
+     */
+    Object intercept(ResourceInvocation invocation) throws Throwable;
+}
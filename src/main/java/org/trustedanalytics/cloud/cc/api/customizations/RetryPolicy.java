@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which calls {@link RetryingInterceptor} sends again and how long it waits between attempts.
+ */
+public final class RetryPolicy {
+
+    /**
+     * GET and DELETE calls attempted at most 4 times, backoff starting at 200 milliseconds and
+     * doubling up to 5 seconds, Retry-After honored, at most 30 seconds spent waiting per call.
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(ImmutableSet.of("GET", "DELETE"), 4,
+        200, TimeUnit.SECONDS.toMillis(5), TimeUnit.SECONDS.toMillis(30));
+
+    private final Set<String> methods;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long budgetMillis;
+
+    private RetryPolicy(Set<String> methods, int maxAttempts, long initialBackoffMillis, long maxBackoffMillis,
+        long budgetMillis) {
+        this.methods = methods;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * @param methods http methods of calls that are safe to send again, e.g. GET
+     */
+    public RetryPolicy withMethods(String... methods) {
+        return new RetryPolicy(ImmutableSet.copyOf(Arrays.asList(methods)), maxAttempts, initialBackoffMillis,
+            maxBackoffMillis, budgetMillis);
+    }
+
+    /**
+     * @param maxAttempts maximum number of times a call is sent, 1 disables retries
+     */
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        requirePositive(maxAttempts, "Max attempts");
+        return new RetryPolicy(methods, maxAttempts, initialBackoffMillis, maxBackoffMillis, budgetMillis);
+    }
+
+    /**
+     * @param initial backoff before the first retry, doubled before every next one
+     * @param max upper bound of backoff
+     */
+    public RetryPolicy withBackoff(long initial, long max, TimeUnit unit) {
+        requirePositive(initial, "Initial backoff");
+        if (max < initial) {
+            throw new IllegalArgumentException("Max backoff must not be less than initial backoff");
+        }
+        return new RetryPolicy(methods, maxAttempts, unit.toMillis(initial), unit.toMillis(max), budgetMillis);
+    }
+
+    /**
+     * @param budget total time a single call may spend waiting between attempts, a retry that
+     * would exceed it, e.g. because of long Retry-After, is not made
+     */
+    public RetryPolicy withBudget(long budget, TimeUnit unit) {
+        requirePositive(budget, "Budget");
+        return new RetryPolicy(methods, maxAttempts, initialBackoffMillis, maxBackoffMillis, unit.toMillis(budget));
+    }
+
+    public boolean isRetried(String method) {
+        return methods.contains(method);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy [methods=%s, maxAttempts=%d, initialBackoffMillis=%d, "
+                + "maxBackoffMillis=%d, budgetMillis=%d]", methods, maxAttempts, initialBackoffMillis,
+            maxBackoffMillis, budgetMillis);
+    }
+}
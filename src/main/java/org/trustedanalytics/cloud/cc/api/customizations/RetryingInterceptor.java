@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import feign.RetryableException;
+import feign.Retryer;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends idempotent calls again when they fail with {@link RetryableException}: on I/O errors and
+ * on transient error responses marked by {@link CloudFoundryErrorDecoder#withRetryableErrors()}.
+ * Waits between attempts grow exponentially with jitter, so that clients failed by the same
+ * outage do not come back at once, and are extended to the time given by Retry-After. Feign
+ * should not retry on its own, install {@link #FEIGN_RETRYER}.
+ *
+ * <p>When the call is not retried or retries are exhausted, the exception decoded from the
+ * error response is thrown, as it would be without retries. Retries are reported to metrics by
+ * Feign configuration key.
+ */
+public class RetryingInterceptor implements ResourceMethodInterceptor {
+
+    /**
+     * Propagates every exception at once, leaving retries to the interceptor.
+     */
+    public static final Retryer FEIGN_RETRYER = new Retryer() {
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            throw e;
+        }
+
+        @Override
+        public Retryer clone() {
+            return this;
+        }
+    };
+
+    private final RetryPolicy policy;
+    private final ClientMetrics metrics;
+
+    public RetryingInterceptor(RetryPolicy policy) {
+        this(policy, ClientMetrics.NONE);
+    }
+
+    public RetryingInterceptor(RetryPolicy policy, ClientMetrics metrics) {
+        this.policy = Objects.requireNonNull(policy);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        if (!policy.isRetried(invocation.getHttpMethod())) {
+            try {
+                return invocation.proceed();
+            } catch (RetryableException e) {
+                throw unwrap(e);
+            }
+        }
+
+        final long budgetNanos = TimeUnit.MILLISECONDS.toNanos(policy.getBudgetMillis());
+        long waitedNanos = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invocation.proceed();
+            } catch (RetryableException e) {
+                if (attempt >= policy.getMaxAttempts()) {
+                    throw unwrap(e);
+                }
+                final long delayNanos = delayNanos(attempt, e);
+                if (waitedNanos + delayNanos > budgetNanos) {
+                    throw unwrap(e);
+                }
+                metrics.retried(invocation.getConfigKey());
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw unwrap(e);
+                }
+                waitedNanos += delayNanos;
+            }
+        }
+    }
+
+    private long delayNanos(int attempt, RetryableException e) {
+        // equal jitter: at least half of the exponential backoff, at most all of it
+        final long backoff = Math.min(policy.getMaxBackoffMillis(),
+            policy.getInitialBackoffMillis() << Math.min(attempt - 1, 30));
+        final long jittered = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        final long retryAfter = e.retryAfter() == null ? 0 : e.retryAfter().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(jittered, retryAfter));
+    }
+
+    /**
+     * @return exception decoded from error response, or given one if it was raised by an I/O error
+     */
+    private static Exception unwrap(RetryableException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Collapses concurrent identical GET requests: while a request for given resource method,
+ * arguments and paging options (see {@link PagingRequestInterceptor}) is in flight, callers
+ * asking for the same one wait for it and share its result instead of sending their own.
+ * Nothing is kept after the request completes, so results are never stale. Shared entities
+ * must not be modified by callers.
+ */
+public class SingleFlightInterceptor implements ResourceMethodInterceptor {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        if (!"GET".equals(invocation.getHttpMethod())) {
+            return invocation.proceed();
+        }
+
+        final Key key = new Key(invocation.getConfigKey(), Arrays.asList(invocation.getArgs()),
+            PagingRequestInterceptor.currentPaging());
+        final CompletableFuture<Object> call = new CompletableFuture<>();
+        final CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            return await(leader);
+        }
+
+        try {
+            final Object result = invocation.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable {
+        try {
+            return leader.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class Key {
+        private final String configKey;
+        private final List<Object> args;
+        private final PagingOptions paging;
+
+        private Key(String configKey, List<Object> args, PagingOptions paging) {
+            this.configKey = configKey;
+            this.args = args;
+            this.paging = paging;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return configKey.equals(other.configKey) && args.equals(other.args) && paging.equals(other.paging);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(configKey, args, paging);
+        }
+    }
+}
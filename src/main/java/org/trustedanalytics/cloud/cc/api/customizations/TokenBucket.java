@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+/**
+ * Token bucket refilled continuously at a fixed rate. Permits are reserved in advance, so
+ * callers queue in order of arrival and sleep outside of the lock.
+ */
+final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / 1e9;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * @param now current {@link System#nanoTime()}
+     * @param maxWaitNanos longest acceptable wait
+     * @return nanoseconds after which reserved permit may be used, -1 if no permit was reserved
+     * because it would take longer than acceptable
+     */
+    synchronized long reserve(long now, long maxWaitNanos) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        final long wait = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        if (wait > maxWaitNanos) {
+            return -1;
+        }
+        // goes negative when permits are reserved ahead of time
+        tokens -= 1;
+        return wait;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.auth.TokenManager;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Objects;
+
+/**
+ * Sends a call once more with a fresh token when Cloud Controller rejects it with 401, e.g.
+ * because the cached token was revoked before it expired. Token is fetched again only if no
+ * other caller has replaced it in the meantime.
+ */
+public class TokenRefreshingInterceptor implements ResourceMethodInterceptor {
+
+    private final TokenManager tokens;
+
+    public TokenRefreshingInterceptor(TokenManager tokens) {
+        this.tokens = Objects.requireNonNull(tokens);
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        final String header = tokens.getAuthorizationHeader();
+        try {
+            return invocation.proceed();
+        } catch (CloudFoundryException e) {
+            if (e.getHttpCode() != HttpStatus.UNAUTHORIZED.value()) {
+                throw e;
+            }
+        } catch (FeignResponseException e) {
+            if (e.getStatusCode() != HttpStatus.UNAUTHORIZED) {
+                throw e;
+            }
+        }
+        tokens.refresh(header);
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import feign.FeignException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+
+/**
+ * Decodes only top level "total_results" field of a Cloud Controller page. Parsing stops as soon as
+ * the field is found, so the resources array is neither read nor bound to entity classes.
+ */
+public class TotalResultsDecoder implements Decoder {
+
+    private static final String TOTAL_RESULTS = "total_results";
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (response.body() == null) {
+            throw new DecodeException("Empty response, " + TOTAL_RESULTS + " expected");
+        }
+        try (Reader reader = response.body().asReader(); JsonParser parser = factory.createParser(reader)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DecodeException("JSON object expected");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                if (TOTAL_RESULTS.equals(field)) {
+                    return parser.getIntValue();
+                }
+                parser.skipChildren();
+            }
+        }
+        throw new DecodeException("No " + TOTAL_RESULTS + " field in response");
+    }
+}
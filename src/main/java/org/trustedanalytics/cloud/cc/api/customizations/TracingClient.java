@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.tracing.Span;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Adds trace context headers of the span opened by {@link TracingInterceptor} to requests sent
+ * by another {@link Client}, and records status and size of their responses on that span.
+ * Requests sent outside of a traced resource method are passed on untouched.
+ */
+public class TracingClient implements Client {
+
+    private final Client delegate;
+
+    public TracingClient(Client delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final Span span = TracingInterceptor.currentSpan();
+        if (span == null) {
+            return delegate.execute(request, options);
+        }
+
+        final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+        span.inject((name, value) -> headers.put(name, Collections.singletonList(value)));
+        final Response response = delegate.execute(
+            Request.create(request.method(), request.url(), headers, request.body(), request.charset()), options);
+
+        // retried requests overwrite attributes of previous attempts
+        span.setAttribute(Span.STATUS_CODE, response.status());
+        final Integer length = response.body() == null ? null : response.body().length();
+        if (length != null) {
+            span.setAttribute(Span.RESPONSE_SIZE, length);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import org.trustedanalytics.cloud.cc.api.Page;
+import org.trustedanalytics.cloud.metrics.Operations;
+import org.trustedanalytics.cloud.tracing.Span;
+import org.trustedanalytics.cloud.tracing.Tracer;
+
+import feign.RequestLine;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opens a span around every resource method call, named by Feign configuration key and
+ * described by http method, url template and, for collections, requested page number. Install
+ * {@link TracingClient} on the transport to propagate trace context headers and record status
+ * and size of responses. With {@link Tracer#NONE} or unsampled calls the interceptor only
+ * passes the call on.
+ *
+ * <p>Span is current on the calling thread until the method returns. Pages prefetched
+ * concurrently by {@link org.trustedanalytics.cloud.cc.FeignClient} are requested on pool
+ * threads, so their spans are children of whatever the tracer considers current there.
+ */
+public class TracingInterceptor implements ResourceMethodInterceptor {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final String PAGE_PARAMETER = "page=";
+
+    private final Tracer tracer;
+
+    // template from RequestLine annotation, empty when url is passed as an argument
+    private final ConcurrentMap<Method, String> templates = new ConcurrentHashMap<>();
+
+    public TracingInterceptor(Tracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer);
+    }
+
+    /**
+     * @return span of the resource method executed by calling thread, null if there is none
+     */
+    static Span currentSpan() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object intercept(ResourceInvocation invocation) throws Throwable {
+        if (tracer == Tracer.NONE) {
+            return invocation.proceed();
+        }
+        final Span span = tracer.startSpan(invocation.getConfigKey());
+        if (span == Span.NOOP) {
+            return invocation.proceed();
+        }
+
+        final Span previous = CURRENT.get();
+        CURRENT.set(span);
+        try {
+            describe(span, invocation);
+            return invocation.proceed();
+        } catch (CloudFoundryException e) {
+            span.setAttribute(Span.STATUS_CODE, e.getHttpCode());
+            span.recordError(e);
+            throw e;
+        } catch (FeignResponseException e) {
+            span.setAttribute(Span.STATUS_CODE, e.getStatusCode().value());
+            span.recordError(e);
+            throw e;
+        } catch (Throwable e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            CURRENT.set(previous);
+            span.end();
+        }
+    }
+
+    private void describe(Span span, ResourceInvocation invocation) {
+        span.setAttribute(Span.METHOD_KEY, invocation.getConfigKey());
+        if (invocation.getHttpMethod() != null) {
+            span.setAttribute(Span.HTTP_METHOD, invocation.getHttpMethod());
+        }
+
+        final URI url = urlArgument(invocation.getArgs());
+        final String template = invocation.getMethod() == null ? "" : template(invocation.getMethod());
+        if (!template.isEmpty()) {
+            span.setAttribute(Span.URL_TEMPLATE, template);
+        } else if (url != null) {
+            span.setAttribute(Span.URL_TEMPLATE, Operations.pathTemplate(url.toString()));
+        }
+
+        if (url != null) {
+            span.setAttribute(Span.PAGE, pageNumber(url));
+        } else if (invocation.getMethod() != null && Page.class.equals(invocation.getMethod().getReturnType())) {
+            span.setAttribute(Span.PAGE, 1);
+        }
+    }
+
+    private String template(Method method) {
+        return templates.computeIfAbsent(method, m -> {
+            final RequestLine requestLine = m.getAnnotation(RequestLine.class);
+            if (requestLine == null) {
+                return "";
+            }
+            final String[] parts = requestLine.value().trim().split(" ", 2);
+            return parts.length < 2 ? "" : parts[1].trim().replaceAll("\\?.*", "");
+        });
+    }
+
+    private static URI urlArgument(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof URI) {
+                return (URI) arg;
+            }
+        }
+        return null;
+    }
+
+    private static long pageNumber(URI url) {
+        final String query = url.getRawQuery();
+        if (query == null) {
+            return 1;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(PAGE_PARAMETER)) {
+                try {
+                    return Long.parseLong(parameter.substring(PAGE_PARAMETER.length()));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
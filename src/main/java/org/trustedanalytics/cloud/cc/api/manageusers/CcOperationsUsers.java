@@ -15,9 +15,11 @@
  */
 package org.trustedanalytics.cloud.cc.api.manageusers;
 
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
 import rx.Observable;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface CcOperationsUsers {
@@ -34,6 +36,13 @@ public interface CcOperationsUsers {
      */
     Observable<CcUser> getUsers();
 
+    /**
+     * Returns all users
+     * @param paging paging options
+     * @return users
+     */
+    Observable<CcUser> getUsers(PagingOptions paging);
+
     /**
      * Returns all users with given role within organization identified by given GUID.
      * @param orgGuid organization GUID
@@ -57,6 +66,14 @@ public interface CcOperationsUsers {
      */
     Observable<User> getSpaceUsersWithRoles(UUID spaceGuid);
 
+    /**
+     * Returns all users with their roles within space identified by given GUID
+     * @param spaceGuid space GUID
+     * @param paging paging options
+     * @return users with their roles within space
+     */
+    Observable<User> getSpaceUsersWithRoles(UUID spaceGuid, PagingOptions paging);
+
     /**
      * Returns all users with their roles within organization identified by given GUID
      * @param orgGuid organization GUID
@@ -64,6 +81,14 @@ public interface CcOperationsUsers {
      */
     Observable<User> getOrgUsersWithRoles(UUID orgGuid);
 
+    /**
+     * Returns all users with their roles within organization identified by given GUID
+     * @param orgGuid organization GUID
+     * @param paging paging options
+     * @return users with their roles within organization
+     */
+    Observable<User> getOrgUsersWithRoles(UUID orgGuid, PagingOptions paging);
+
     /**
      * Assigns organization role to user identified by given GUID.
      * @param userGuid user GUID
@@ -101,4 +126,22 @@ public interface CcOperationsUsers {
      * @param role role
      */
     void revokeSpaceRole(UUID userGuid, UUID spaceId, Role role);
+
+    /**
+     * Applies role changes with default parallelism.
+     * @see #applyRoleChanges(Collection, int)
+     */
+    List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes);
+
+    /**
+     * Applies role changes concurrently. Repeated changes of the same role are sent once and
+     * only the last of them is applied, earlier conflicting ones are reported as superseded.
+     * Organization memberships are granted before and revoked after all other changes, so space
+     * and organization roles are not rejected due to a missing membership. Failure of a change
+     * does not stop the others.
+     * @param changes role changes
+     * @param parallelism maximal number of requests sent at once
+     * @return result of each given change, in the same order
+     */
+    List<RoleChangeResult> applyRoleChanges(Collection<RoleChange> changes, int parallelism);
 }
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.manageusers;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Single role assignment or revocation, applied in bulk by
+ * {@link CcOperationsUsers#applyRoleChanges(java.util.Collection, int)}.
+ */
+public final class RoleChange {
+
+    public enum Action {
+        ASSIGN,
+        REVOKE
+    }
+
+    public enum Scope {
+        ORGANIZATION,
+        SPACE
+    }
+
+    private final Action action;
+    private final Scope scope;
+    private final UUID user;
+    private final UUID target;
+    private final Role role;
+
+    private RoleChange(Action action, Scope scope, UUID user, UUID target, Role role) {
+        this.action = action;
+        this.scope = scope;
+        this.user = Objects.requireNonNull(user);
+        this.target = Objects.requireNonNull(target);
+        this.role = Objects.requireNonNull(role);
+        if (!(scope == Scope.ORGANIZATION ? Role.ORG_ROLES : Role.SPACE_ROLES).contains(role)) {
+            throw new IllegalArgumentException(String.format("Role %s is not a %s role", role,
+                scope.name().toLowerCase()));
+        }
+    }
+
+    public static RoleChange assignOrgRole(UUID user, UUID org, Role role) {
+        return new RoleChange(Action.ASSIGN, Scope.ORGANIZATION, user, org, role);
+    }
+
+    public static RoleChange revokeOrgRole(UUID user, UUID org, Role role) {
+        return new RoleChange(Action.REVOKE, Scope.ORGANIZATION, user, org, role);
+    }
+
+    public static RoleChange assignSpaceRole(UUID user, UUID space, Role role) {
+        return new RoleChange(Action.ASSIGN, Scope.SPACE, user, space, role);
+    }
+
+    public static RoleChange revokeSpaceRole(UUID user, UUID space, Role role) {
+        return new RoleChange(Action.REVOKE, Scope.SPACE, user, space, role);
+    }
+
+    /**
+     * Changes made by {@link org.trustedanalytics.cloud.cc.api.CcOperations#assignUserToOrganization(UUID, UUID)}:
+     * user becomes member and manager of the organization.
+     */
+    public static List<RoleChange> assignUserToOrganization(UUID user, UUID org) {
+        return ImmutableList.of(assignOrgRole(user, org, Role.USERS), assignOrgRole(user, org, Role.MANAGERS));
+    }
+
+    /**
+     * Changes made by {@link org.trustedanalytics.cloud.cc.api.CcOperations#assignUserToSpace(UUID, UUID)}:
+     * user becomes developer and manager of the space.
+     */
+    public static List<RoleChange> assignUserToSpace(UUID user, UUID space) {
+        return ImmutableList.of(assignSpaceRole(user, space, Role.DEVELOPERS),
+            assignSpaceRole(user, space, Role.MANAGERS));
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public UUID getUser() {
+        return user;
+    }
+
+    /**
+     * @return GUID of organization or space
+     */
+    public UUID getTarget() {
+        return target;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @return true if this change adds user to organization or removes it from one
+     */
+    public boolean isOrgMembership() {
+        return scope == Scope.ORGANIZATION && role == Role.USERS;
+    }
+
+    /**
+     * @return true if both changes concern the same role of the same user, whatever the action
+     */
+    public boolean isSameRole(RoleChange other) {
+        return scope == other.scope && user.equals(other.user) && target.equals(other.target)
+            && role == other.role;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RoleChange other = (RoleChange) o;
+        return action == other.action && isSameRole(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(action, scope, user, target, role);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoleChange [%s %s %s of %s to %s]", action, scope, role, target, user);
+    }
+}
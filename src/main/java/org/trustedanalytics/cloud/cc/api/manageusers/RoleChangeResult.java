@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.manageusers;
+
+import java.util.Objects;
+
+/**
+ * Outcome of a single {@link RoleChange} applied in bulk.
+ */
+public final class RoleChangeResult {
+
+    public enum Status {
+        /**
+         * Request was accepted by Cloud Controller.
+         */
+        APPLIED,
+        /**
+         * Request failed, see {@link RoleChangeResult#getError()}.
+         */
+        FAILED,
+        /**
+         * Change was not sent, because a later change of the same role overrides it.
+         */
+        SUPERSEDED
+    }
+
+    private final RoleChange change;
+    private final Status status;
+    private final RuntimeException error;
+
+    private RoleChangeResult(RoleChange change, Status status, RuntimeException error) {
+        this.change = Objects.requireNonNull(change);
+        this.status = status;
+        this.error = error;
+    }
+
+    public static RoleChangeResult applied(RoleChange change) {
+        return new RoleChangeResult(change, Status.APPLIED, null);
+    }
+
+    public static RoleChangeResult failed(RoleChange change, RuntimeException error) {
+        return new RoleChangeResult(change, Status.FAILED, Objects.requireNonNull(error));
+    }
+
+    public static RoleChangeResult superseded(RoleChange change) {
+        return new RoleChangeResult(change, Status.SUPERSEDED, null);
+    }
+
+    public RoleChange getChange() {
+        return change;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return exception thrown by the request, null unless status is {@link Status#FAILED}
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    public boolean isFailed() {
+        return status == Status.FAILED;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoleChangeResult [change=%s, status=%s, error=%s]", change, status,
+            error == null ? null : error.getMessage());
+    }
+}
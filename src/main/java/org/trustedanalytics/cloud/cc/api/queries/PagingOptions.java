@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.queries;
+
+import org.trustedanalytics.cloud.cc.api.utils.PageUrls;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Paging parameters of requests returning collections. Options are applied to the first
+ * request and to every next_url followed afterwards. Refer to http://apidocs.cloudfoundry.org/211/
+ * for fields that can be used for ordering given collection.
+ */
+public final class PagingOptions {
+
+    /**
+     * Maximum number of results per page accepted by Cloud Controller.
+     */
+    public static final int MAX_RESULTS_PER_PAGE = 100;
+
+    /**
+     * Leaves Cloud Controller defaults (50 results per page, ascending order by id).
+     */
+    public static final PagingOptions DEFAULT = new PagingOptions(null, null, null);
+
+    private final Integer resultsPerPage;
+    private final OrderDirection orderDirection;
+    private final String orderBy;
+
+    private PagingOptions(Integer resultsPerPage, OrderDirection orderDirection, String orderBy) {
+        this.resultsPerPage = resultsPerPage;
+        this.orderDirection = orderDirection;
+        this.orderBy = orderBy;
+    }
+
+    /**
+     * @return options requesting the largest pages, which minimizes number of round trips
+     */
+    public static PagingOptions maxResultsPerPage() {
+        return DEFAULT.withResultsPerPage(MAX_RESULTS_PER_PAGE);
+    }
+
+    public PagingOptions withResultsPerPage(int resultsPerPage) {
+        if (resultsPerPage < 1 || resultsPerPage > MAX_RESULTS_PER_PAGE) {
+            throw new IllegalArgumentException(
+                "Results per page must be between 1 and " + MAX_RESULTS_PER_PAGE);
+        }
+        return new PagingOptions(resultsPerPage, orderDirection, orderBy);
+    }
+
+    public PagingOptions withOrderDirection(OrderDirection orderDirection) {
+        return new PagingOptions(resultsPerPage, Objects.requireNonNull(orderDirection), orderBy);
+    }
+
+    public PagingOptions withOrderBy(String orderBy) {
+        return new PagingOptions(resultsPerPage, orderDirection, Objects.requireNonNull(orderBy));
+    }
+
+    public Integer getResultsPerPage() {
+        return resultsPerPage;
+    }
+
+    public OrderDirection getOrderDirection() {
+        return orderDirection;
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * @return query parameters of the options, in the order they are sent; empty for defaults
+     */
+    public Map<String, String> parameters() {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        if (resultsPerPage != null) {
+            parameters.put("results-per-page", resultsPerPage.toString());
+        }
+        if (orderDirection != null) {
+            parameters.put("order-direction", orderDirection.toString());
+        }
+        if (orderBy != null) {
+            parameters.put("order-by", orderBy);
+        }
+        return parameters;
+    }
+
+    /**
+     * Sets paging parameters on given url, replacing values that are already there.
+     * @param url collection url, e.g. /v2/organizations or next_url of a page
+     * @return url with paging parameters
+     */
+    public String applyTo(String url) {
+        String result = url;
+        for (Map.Entry<String, String> parameter : parameters().entrySet()) {
+            result = PageUrls.withParameter(result, parameter.getKey(), parameter.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PagingOptions other = (PagingOptions) o;
+
+        return Objects.equals(resultsPerPage, other.resultsPerPage)
+            && orderDirection == other.orderDirection
+            && Objects.equals(orderBy, other.orderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resultsPerPage, orderDirection, orderBy);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PagingOptions [resultsPerPage=%s, orderDirection=%s, orderBy=%s]",
+            resultsPerPage, orderDirection, orderBy);
+    }
+}
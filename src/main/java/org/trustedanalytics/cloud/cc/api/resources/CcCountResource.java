@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.resources;
+
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+
+@Headers("Accept: application/json")
+public interface CcCountResource {
+
+    /**
+     * Requests a single-entity page of the given collection, which is enough to learn its total_results.
+     * Requires {@link org.trustedanalytics.cloud.cc.api.customizations.TotalResultsDecoder}.
+     */
+    @RequestLine("GET /v2/{collection}?results-per-page=1")
+    Integer count(@Param("collection") String collection);
+}
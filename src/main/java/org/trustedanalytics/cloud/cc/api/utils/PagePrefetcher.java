@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * Fetches range of pages concurrently, keeping at most {@code parallelism} pages in flight
+ * ahead of the page being consumed. Pages have to be taken in ascending order by single consumer.
+ */
+public class PagePrefetcher<T> {
+    private final IntFunction<Collection<T>> fetch;
+    private final Executor executor;
+    private final int lastPage;
+    private final int parallelism;
+
+    private final Map<Integer, CompletableFuture<Collection<T>>> scheduled = new HashMap<>();
+    private int nextToSchedule;
+    private boolean cancelled;
+
+    /**
+     * @param firstPage number of first page to fetch
+     * @param lastPage number of last page to fetch (inclusive)
+     * @param fetch function fetching resources of page with given number
+     * @param executor executor running fetches
+     * @param parallelism maximum number of pages fetched at the same time
+     */
+    public PagePrefetcher(int firstPage, int lastPage, IntFunction<Collection<T>> fetch,
+        Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.fetch = Objects.requireNonNull(fetch);
+        this.executor = Objects.requireNonNull(executor);
+        this.lastPage = lastPage;
+        this.parallelism = parallelism;
+        this.nextToSchedule = firstPage;
+    }
+
+    /**
+     * Waits for page with given number, scheduling fetches of following pages.
+     * @param page page number
+     * @return resources of page
+     */
+    public Collection<T> take(int page) {
+        final CompletableFuture<Collection<T>> future;
+        synchronized (this) {
+            scheduleUpTo(page + parallelism - 1);
+            future = scheduled.remove(page);
+        }
+
+        if (future == null) {
+            throw new IllegalStateException("Page " + page + " was already taken or is out of range");
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            cancel();
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Cancels fetches that have not been taken yet.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        scheduled.values().forEach(future -> future.cancel(true));
+        scheduled.clear();
+    }
+
+    private void scheduleUpTo(int page) {
+        while (!cancelled && nextToSchedule <= Math.min(page, lastPage)) {
+            final int number = nextToSchedule++;
+            scheduled.put(number, CompletableFuture.supplyAsync(() -> fetch.apply(number), executor));
+        }
+    }
+}
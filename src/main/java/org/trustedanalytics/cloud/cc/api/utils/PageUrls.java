@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Helpers for manipulating query parameters of paged Cloud Controller urls (e.g. next_url).
+ */
+public final class PageUrls {
+    private static final String PAGE = "page";
+
+    private PageUrls() {
+    }
+
+    /**
+     * Returns number of page requested by given url.
+     * @param url page url, e.g. /v2/organizations?order-direction=asc&amp;page=2&amp;results-per-page=50
+     * @return page number or empty when url does not specify it
+     */
+    public static OptionalInt pageNumber(String url) {
+        final String prefix = PAGE + "=";
+        return parameters(url).stream()
+            .filter(parameter -> parameter.startsWith(prefix))
+            .mapToInt(parameter -> Integer.parseInt(parameter.substring(prefix.length())))
+            .findFirst();
+    }
+
+    /**
+     * Returns url pointing to another page of the same collection.
+     * @param url page url
+     * @param page requested page number
+     * @return url of requested page
+     */
+    public static String withPageNumber(String url, int page) {
+        return withParameter(url, PAGE, String.valueOf(page));
+    }
+
+    /**
+     * Sets query parameter, replacing value already present in url.
+     * @param url url
+     * @param name parameter name
+     * @param value parameter value, expected to be already url encoded
+     * @return url with parameter set
+     */
+    public static String withParameter(String url, String name, String value) {
+        final List<String> parameters = parameters(url);
+        parameters.removeIf(parameter -> parameter.equals(name) || parameter.startsWith(name + "="));
+        parameters.add(name + "=" + value);
+        return path(url) + "?" + String.join("&", parameters);
+    }
+
+    private static String path(String url) {
+        final int queryStart = url.indexOf('?');
+        return queryStart < 0 ? url : url.substring(0, queryStart);
+    }
+
+    private static List<String> parameters(String url) {
+        final int queryStart = url.indexOf('?');
+        final List<String> parameters = new ArrayList<>();
+        if (queryStart >= 0) {
+            parameters.addAll(Arrays.asList(url.substring(queryStart + 1).split("&")));
+            parameters.removeIf(String::isEmpty);
+        }
+        return parameters;
+    }
+}
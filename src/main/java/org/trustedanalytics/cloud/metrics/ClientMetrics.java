@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+/**
+ * Receives measurements of Cloud Controller and UAA calls. Implementations adapt them to a
+ * metrics library or aggregate them in memory, see {@link RecordingClientMetrics}. Methods are
+ * called on request threads, so they should be cheap and must be thread safe. Arguments are
+ * primitives and names that are equal for all calls of an endpoint, so implementations can
+ * aggregate by name. Names of requests are built from their urls, see {@link Operations}, which
+ * costs one string per request. All methods do nothing by default.
+ */
+public interface ClientMetrics {
+
+    /**
+     * Discards all measurements.
+     */
+    ClientMetrics NONE = new ClientMetrics() {
+    };
+
+    /**
+     * Request got a response, successful or not.
+     * @param operation http method and path template, see {@link Operations#name(String, String)}
+     * @param status http status code
+     * @param durationNanos time from sending the request until response headers were received
+     */
+    default void requestCompleted(String operation, int status, long durationNanos) {
+    }
+
+    /**
+     * Request failed without a response, e.g. connection was refused or timed out.
+     */
+    default void requestFailed(String operation, long durationNanos) {
+    }
+
+    /**
+     * Size of a response body, reported when known from headers or once the body was read.
+     */
+    default void bytesReceived(String operation, long bytes) {
+    }
+
+    /**
+     * Request is going to be sent again after a failure.
+     */
+    default void retried(String operation) {
+    }
+
+    /**
+     * Paged collection was traversed, completely or until subscriber unsubscribed.
+     * @param traversal path template of the collection
+     * @param pages number of pages requested
+     */
+    default void pagesFetched(String traversal, int pages) {
+    }
+
+    /**
+     * @param cache name of the cache
+     * @param hit true if entry was found in cache
+     */
+    default void cacheAccessed(String cache, boolean hit) {
+    }
+
+    /**
+     * Limit of concurrent requests was adjusted, reported also once when limiter is created.
+     * @param limiter name of the limiter
+     * @param limit number of requests allowed in flight
+     */
+    default void concurrencyLimitChanged(String limiter, int limit) {
+    }
+
+    /**
+     * Request was not sent, because it could not start within allowed wait.
+     */
+    default void requestRejected(String limiter) {
+    }
+
+    /**
+     * Circuit breaker moved to another state.
+     * @param circuit name of the circuit, e.g. resource it guards
+     * @param state new state, e.g. OPEN
+     */
+    default void circuitStateChanged(String circuit, String state) {
+    }
+}
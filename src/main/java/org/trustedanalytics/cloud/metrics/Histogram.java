@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of non negative values with power of two buckets. Recording is a couple
+ * of additions and never allocates; percentiles are accurate within a factor of two, which is
+ * enough to tell slow endpoints from fast ones.
+ */
+public final class Histogram {
+
+    private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        final long positive = Math.max(value, 0);
+        // bucket i holds values in [2^(i-1), 2^i)
+        buckets[Math.min(Long.SIZE - Long.numberOfLeadingZeros(positive), Long.SIZE - 1)].increment();
+        count.increment();
+        sum.add(positive);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public double getMean() {
+        final long n = getCount();
+        return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * @param percentile from 0 to 100
+     * @return upper bound of the bucket containing given percentile, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        final long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return i == 0 ? 0 : (i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram [count=%d, mean=%.1f, p50=%d, p99=%d]", getCount(), getMean(),
+            getPercentile(50), getPercentile(99));
+    }
+}
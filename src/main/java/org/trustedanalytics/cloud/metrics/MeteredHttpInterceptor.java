@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Records latency, status and size of responses of calls made with a RestTemplate, e.g. the one
+ * passed to {@link org.trustedanalytics.cloud.uaa.UaaClient}. Size is known only when server
+ * sends Content-Length.
+ */
+public class MeteredHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ClientMetrics metrics;
+
+    public MeteredHttpInterceptor(ClientMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        final String operation = Operations.name(request.getMethod().name(), request.getURI().toString());
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            metrics.requestFailed(operation, System.nanoTime() - start);
+            throw e;
+        }
+        metrics.requestCompleted(operation, response.getRawStatusCode(), System.nanoTime() - start);
+        final long length = response.getHeaders().getContentLength();
+        if (length >= 0) {
+            metrics.bytesReceived(operation, length);
+        }
+        return response;
+    }
+}
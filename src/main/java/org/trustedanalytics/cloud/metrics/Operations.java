@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+/**
+ * Names requests by http method and path template, so that metrics of an endpoint are
+ * aggregated regardless of guids in the path, e.g. "GET /v2/organizations/{guid}/spaces".
+ */
+public final class Operations {
+
+    private static final String GUID = "{guid}";
+    private static final int GUID_LENGTH = 36;
+
+    private Operations() {
+    }
+
+    /**
+     * @param method http method
+     * @param url absolute or relative url, scheme, host and query are dropped
+     * @return operation name, built in one pass without intermediate strings
+     */
+    public static String name(String method, String url) {
+        final StringBuilder name = new StringBuilder(method.length() + 1 + url.length());
+        return appendPathTemplate(name.append(method).append(' '), url).toString();
+    }
+
+    /**
+     * @return path of the url with guid segments replaced by "{guid}"
+     */
+    public static String pathTemplate(String url) {
+        return appendPathTemplate(new StringBuilder(url.length()), url).toString();
+    }
+
+    private static StringBuilder appendPathTemplate(StringBuilder template, String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : url.indexOf('/', start + 3);
+        if (start < 0) {
+            return template.append('/');
+        }
+        int end = url.indexOf('?', start);
+        end = end < 0 ? url.length() : end;
+
+        int segment = start;
+        while (segment < end) {
+            int next = url.indexOf('/', segment + 1);
+            next = next < 0 || next > end ? end : next;
+            // segment includes leading slash
+            if (next - segment - 1 == GUID_LENGTH && isGuid(url, segment + 1, next)) {
+                template.append('/').append(GUID);
+            } else {
+                template.append(url, segment, next);
+            }
+            segment = next;
+        }
+        return template;
+    }
+
+    private static boolean isGuid(String url, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final char c = url.charAt(i);
+            final int position = i - from;
+            final boolean dash = position == 8 || position == 13 || position == 18 || position == 23;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
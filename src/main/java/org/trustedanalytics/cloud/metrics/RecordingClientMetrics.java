@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Aggregates measurements in memory, per operation, traversal, cache, limiter and circuit. Recording allocates
+ * only the first time a name is seen. Numbers can be read at any time, e.g. to be exported by
+ * a scheduled reporter.
+ */
+public class RecordingClientMetrics implements ClientMetrics {
+
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> traversals = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CacheStats> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LimiterStats> limiters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CircuitStats> circuits = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestCompleted(String operation, int status, long durationNanos) {
+        final OperationStats stats = get(operations, operation, name -> new OperationStats());
+        stats.latency.record(durationNanos);
+        if (status >= 0 && status < OperationStats.MAX_STATUS) {
+            stats.statuses.incrementAndGet(status);
+        }
+    }
+
+    @Override
+    public void requestFailed(String operation, long durationNanos) {
+        final OperationStats stats = get(operations, operation, name -> new OperationStats());
+        stats.latency.record(durationNanos);
+        stats.failures.increment();
+    }
+
+    @Override
+    public void bytesReceived(String operation, long bytes) {
+        get(operations, operation, name -> new OperationStats()).bytes.add(bytes);
+    }
+
+    @Override
+    public void retried(String operation) {
+        get(operations, operation, name -> new OperationStats()).retries.increment();
+    }
+
+    @Override
+    public void pagesFetched(String traversal, int pages) {
+        get(traversals, traversal, name -> new Histogram()).record(pages);
+    }
+
+    @Override
+    public void cacheAccessed(String cache, boolean hit) {
+        final CacheStats stats = get(caches, cache, name -> new CacheStats());
+        (hit ? stats.hits : stats.misses).increment();
+    }
+
+    @Override
+    public void concurrencyLimitChanged(String limiter, int limit) {
+        get(limiters, limiter, name -> new LimiterStats()).limit = limit;
+    }
+
+    @Override
+    public void requestRejected(String limiter) {
+        get(limiters, limiter, name -> new LimiterStats()).rejected.increment();
+    }
+
+    @Override
+    public void circuitStateChanged(String circuit, String state) {
+        final CircuitStats stats = get(circuits, circuit, name -> new CircuitStats());
+        stats.state = state;
+        stats.transitions.increment();
+    }
+
+    /**
+     * @return names of operations recorded so far
+     */
+    public Set<String> getOperations() {
+        return Collections.unmodifiableSet(operations.keySet());
+    }
+
+    /**
+     * @return statistics of the operation, empty ones if it was never recorded
+     */
+    public OperationStats getOperation(String operation) {
+        return operations.getOrDefault(operation, OperationStats.EMPTY);
+    }
+
+    /**
+     * @return distribution of number of pages per traversal of the collection
+     */
+    public Histogram getPages(String traversal) {
+        return traversals.getOrDefault(traversal, new Histogram());
+    }
+
+    public Set<String> getTraversals() {
+        return Collections.unmodifiableSet(traversals.keySet());
+    }
+
+    /**
+     * @return fraction of accesses that hit the cache, 0 if cache was never accessed
+     */
+    public double getCacheHitRatio(String cache) {
+        final CacheStats stats = caches.get(cache);
+        if (stats == null) {
+            return 0;
+        }
+        final long hits = stats.hits.sum();
+        final long total = hits + stats.misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * @return last reported concurrency limit, 0 if limiter never reported
+     */
+    public int getConcurrencyLimit(String limiter) {
+        final LimiterStats stats = limiters.get(limiter);
+        return stats == null ? 0 : stats.limit;
+    }
+
+    /**
+     * @return number of requests rejected by the limiter
+     */
+    public long getRejected(String limiter) {
+        final LimiterStats stats = limiters.get(limiter);
+        return stats == null ? 0 : stats.rejected.sum();
+    }
+
+    /**
+     * @return last reported state of the circuit, null if it never changed
+     */
+    public String getCircuitState(String circuit) {
+        final CircuitStats stats = circuits.get(circuit);
+        return stats == null ? null : stats.state;
+    }
+
+    /**
+     * @return number of state transitions of the circuit
+     */
+    public long getCircuitTransitions(String circuit) {
+        final CircuitStats stats = circuits.get(circuit);
+        return stats == null ? 0 : stats.transitions.sum();
+    }
+
+    private static <T> T get(ConcurrentMap<String, T> map, String name, Function<String, T> create) {
+        // get first, computeIfAbsent locks a bin even when the value is present
+        final T value = map.get(name);
+        return value != null ? value : map.computeIfAbsent(name, create);
+    }
+
+    /**
+     * Measurements of a single operation.
+     */
+    public static final class OperationStats {
+        private static final int MAX_STATUS = 600;
+        private static final OperationStats EMPTY = new OperationStats();
+
+        private final Histogram latency = new Histogram();
+        private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS);
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * @return latency in nanoseconds of completed and failed requests
+         */
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return number of responses with given status code
+         */
+        public long getStatusCount(int status) {
+            return status >= 0 && status < MAX_STATUS ? statuses.get(status) : 0;
+        }
+
+        /**
+         * @return number of responses by status code, only codes that occurred are included
+         */
+        public Map<Integer, Long> getStatusCounts() {
+            final Map<Integer, Long> counts = new TreeMap<>();
+            for (int status = 0; status < MAX_STATUS; status++) {
+                final long count = statuses.get(status);
+                if (count > 0) {
+                    counts.put(status, count);
+                }
+            }
+            return counts;
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        public long getBytesReceived() {
+            return bytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("OperationStats [latency=%s, statuses=%s, failures=%d, retries=%d, bytes=%d]",
+                latency, getStatusCounts(), getFailures(), getRetries(), getBytesReceived());
+        }
+    }
+
+    private static final class CacheStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+
+    private static final class LimiterStats {
+        private volatile int limit;
+        private final LongAdder rejected = new LongAdder();
+    }
+
+    private static final class CircuitStats {
+        private volatile String state;
+        private final LongAdder transitions = new LongAdder();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.tracing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Single traced call. Attribute keys used by the interceptors are constants of this interface.
+ * All methods do nothing by default.
+ */
+public interface Span {
+
+    /**
+     * Records nothing, returned for calls that are not sampled.
+     */
+    Span NOOP = new Span() {
+    };
+
+    /**
+     * Feign configuration key, e.g. CcSpaceResource#getSpace(UUID).
+     */
+    String METHOD_KEY = "cf.method_key";
+
+    /**
+     * Http method, e.g. GET.
+     */
+    String HTTP_METHOD = "http.method";
+
+    /**
+     * Path with guids replaced by placeholders, e.g. /v2/spaces/{space}.
+     */
+    String URL_TEMPLATE = "http.url_template";
+
+    /**
+     * Number of requested page of a collection, starting from 1.
+     */
+    String PAGE = "cf.page";
+
+    /**
+     * Http status code of the response.
+     */
+    String STATUS_CODE = "http.status_code";
+
+    /**
+     * Size of response body in bytes, when server sent Content-Length.
+     */
+    String RESPONSE_SIZE = "http.response_size";
+
+    default void setAttribute(String key, String value) {
+    }
+
+    default void setAttribute(String key, long value) {
+    }
+
+    /**
+     * Call failed, with or without a response.
+     */
+    default void recordError(Throwable error) {
+    }
+
+    /**
+     * Writes trace context headers of this span, so that the server joins the trace.
+     * @param headers receives header names and values
+     */
+    default void inject(BiConsumer<String, String> headers) {
+    }
+
+    /**
+     * Finishes the span, called exactly once.
+     */
+    default void end() {
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.tracing;
+
+/**
+ * Opens spans around Cloud Controller and UAA calls. Implementations adapt a tracing library,
+ * sampling decisions included. Methods are called on request threads and must be thread safe.
+ */
+public interface Tracer {
+
+    /**
+     * Opens no spans. Interceptors given this tracer pass calls through untouched.
+     */
+    Tracer NONE = name -> Span.NOOP;
+
+    /**
+     * Opens a span that is a child of the span current on calling thread, if any.
+     * @param name constant per endpoint, e.g. Feign configuration key
+     * @return started span, {@link Span#NOOP} if call is not sampled
+     */
+    Span startSpan(String name);
+}
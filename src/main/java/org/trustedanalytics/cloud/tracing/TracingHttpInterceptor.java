@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.tracing;
+
+import org.trustedanalytics.cloud.metrics.Operations;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Opens a span around every call made with a RestTemplate, e.g. the one passed to
+ * {@link org.trustedanalytics.cloud.uaa.UaaClient}, and propagates trace context headers.
+ * Spans are named by http method and path template, see {@link Operations}.
+ */
+public class TracingHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    public TracingHttpInterceptor(Tracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        if (tracer == Tracer.NONE) {
+            return execution.execute(request, body);
+        }
+
+        final String method = request.getMethod().name();
+        final String template = Operations.pathTemplate(request.getURI().toString());
+        final Span span = tracer.startSpan(method + " " + template);
+        if (span == Span.NOOP) {
+            return execution.execute(request, body);
+        }
+        try {
+            span.setAttribute(Span.HTTP_METHOD, method);
+            span.setAttribute(Span.URL_TEMPLATE, template);
+
+            final HttpRequestWrapper traced = new HttpRequestWrapper(request);
+            span.inject(traced.getHeaders()::set);
+            final ClientHttpResponse response = execution.execute(traced, body);
+
+            span.setAttribute(Span.STATUS_CODE, response.getRawStatusCode());
+            final long length = response.getHeaders().getContentLength();
+            if (length >= 0) {
+                span.setAttribute(Span.RESPONSE_SIZE, length);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.google.common.collect.ImmutableSet;
+import org.cloudfoundry.identity.uaa.rest.SearchResults;
+import org.cloudfoundry.identity.uaa.scim.ScimUser;
+
+import rx.Observable;
+
+/**
+ * Serves user name lookups from {@link UserNameCache} in front of another client. Every
+ * response carrying both GUID and name of a user, including user listings, is recorded in
+ * the cache, and deleted users are dropped from it.
+ */
+public class CachingUaaOperations implements UaaOperations {
+
+    private final UaaOperations delegate;
+    private final UserNameCache cache;
+
+    public CachingUaaOperations(UaaOperations delegate, UserNameCache cache) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public ScimUser createUser(String username, String password) {
+        final ScimUser user = delegate.createUser(username, password);
+        record(user);
+        return user;
+    }
+
+    @Override
+    public void deleteUser(UUID userGuid) {
+        delegate.deleteUser(userGuid);
+        cache.invalidate(userGuid);
+    }
+
+    @Override
+    public SearchResults<ScimUser> getUsers() {
+        final SearchResults<ScimUser> users = delegate.getUsers();
+        users.getResources().forEach(this::record);
+        return users;
+    }
+
+    @Override
+    public Observable<ScimUser> getAllUsers() {
+        return delegate.getAllUsers().doOnNext(this::record);
+    }
+
+    @Override
+    public Observable<ScimUser> getAllUsers(ScimPagingOptions paging) {
+        return delegate.getAllUsers(paging).doOnNext(this::record);
+    }
+
+    @Override
+    public Collection<UserIdNamePair> findUserNames(Collection<UUID> users) {
+        final List<UserIdNamePair> found = new ArrayList<>();
+        final List<UUID> missing = new ArrayList<>();
+        ImmutableSet.copyOf(users).forEach(user -> {
+            final Optional<String> name = cache.getUserName(user);
+            if (name.isPresent()) {
+                found.add(UserIdNamePair.of(user, name.get()));
+            } else {
+                missing.add(user);
+            }
+        });
+
+        if (!missing.isEmpty()) {
+            final Collection<UserIdNamePair> fetched = delegate.findUserNames(missing);
+            fetched.forEach(pair -> cache.put(pair.getGuid(), pair.getUserName()));
+            found.addAll(fetched);
+        }
+        return found;
+    }
+
+    @Override
+    public void changePassword(UUID guid, ChangePasswordRequest request) {
+        delegate.changePassword(guid, request);
+    }
+
+    @Override
+    public Optional<UserIdNamePair> findUserIdByName(String userName) {
+        final Optional<UUID> cached = cache.getUserGuid(userName);
+        if (cached.isPresent()) {
+            return Optional.of(UserIdNamePair.of(cached.get(), userName));
+        }
+        if (cache.isUnknown(userName)) {
+            return Optional.empty();
+        }
+
+        final Optional<UserIdNamePair> user = delegate.findUserIdByName(userName);
+        if (user.isPresent()) {
+            cache.put(user.get().getGuid(), user.get().getUserName());
+        } else {
+            cache.putUnknown(userName);
+        }
+        return user;
+    }
+
+    /**
+     * Listings may be projected to a subset of attributes, users without GUID or name are skipped.
+     */
+    private void record(ScimUser user) {
+        if (user != null && user.getId() != null && user.getUserName() != null) {
+            cache.put(UUID.fromString(user.getId()), user.getUserName());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Paging parameters of SCIM user listing. The first page is requested alone, remaining ones
+ * are fetched concurrently once the total number of results is known.
+ */
+public final class ScimPagingOptions {
+
+    /**
+     * Default maximum page size of UAA, larger counts are capped by the server.
+     */
+    public static final int MAX_COUNT = 500;
+
+    /**
+     * 500 users per page, 4 pages in flight, all attributes.
+     */
+    public static final ScimPagingOptions DEFAULT = new ScimPagingOptions(MAX_COUNT, 4, ImmutableList.of());
+
+    private final int count;
+    private final int parallelism;
+    private final List<String> attributes;
+
+    private ScimPagingOptions(int count, int parallelism, List<String> attributes) {
+        this.count = count;
+        this.parallelism = parallelism;
+        this.attributes = attributes;
+    }
+
+    /**
+     * @param count users per page
+     */
+    public ScimPagingOptions withCount(int count) {
+        if (count < 1 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("Count must be between 1 and " + MAX_COUNT);
+        }
+        return new ScimPagingOptions(count, parallelism, attributes);
+    }
+
+    /**
+     * @param parallelism maximum number of pages fetched at the same time, 1 fetches pages one
+     * after another
+     */
+    public ScimPagingOptions withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return new ScimPagingOptions(count, parallelism, attributes);
+    }
+
+    /**
+     * @param attributes user attributes to download, e.g. id, userName; other fields of
+     * returned users are left empty
+     */
+    public ScimPagingOptions withAttributes(String... attributes) {
+        return new ScimPagingOptions(count, parallelism, ImmutableList.copyOf(attributes));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScimPagingOptions other = (ScimPagingOptions) o;
+
+        return count == other.count && parallelism == other.parallelism && attributes.equals(other.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, parallelism, attributes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ScimPagingOptions [count=%d, parallelism=%d, attributes=%s]",
+            count, parallelism, attributes);
+    }
+}
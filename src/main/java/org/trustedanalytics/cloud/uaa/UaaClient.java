@@ -18,12 +18,20 @@ package org.trustedanalytics.cloud.uaa;
 import static java.util.stream.Collectors.joining;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.cloudfoundry.identity.uaa.rest.SearchResults;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
@@ -31,10 +39,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestOperations;
 
 import org.cloudfoundry.identity.uaa.scim.ScimUser;
+import org.trustedanalytics.cloud.cc.api.utils.PagePrefetcher;
 import org.trustedanalytics.org.cloudfoundry.identity.uaa.scim.ScimUserFactory;
+import rx.Observable;
+import rx.schedulers.Schedulers;
 
 public class UaaClient implements UaaOperations {
 
+    // ids per filter, keeps URL short and every chunk within a single default page of 100
+    private static final int USER_NAMES_CHUNK = 50;
+
+    // chunks of a single findUserNames call looked up at the same time
+    private static final int USER_NAMES_PARALLELISM = 4;
+
+    // shared by all clients, parallelism is bounded per listing or lookup
+    private static final ExecutorService REQUEST_EXECUTOR = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("uaa-client-request-%d").build());
+
     private final String uaaBaseUrl;
 
     private final RestOperations uaaRestTemplate;
@@ -63,6 +84,53 @@ public class UaaClient implements UaaOperations {
         return result.getBody();
     }
 
+    @Override
+    public Observable<ScimUser> getAllUsers() {
+        return getAllUsers(ScimPagingOptions.DEFAULT);
+    }
+
+    @Override
+    public Observable<ScimUser> getAllUsers(ScimPagingOptions paging) {
+        return Observable.defer(() -> {
+            final SearchResults<ScimUser> first = getUsersPage(1, paging.getCount(), paging);
+            // UAA may cap requested count, following pages are sized as the first one
+            final int pageSize = first.getResources().size();
+            if (pageSize == 0 || first.getTotalResults() <= pageSize) {
+                return Observable.from(first.getResources());
+            }
+
+            final int lastPage = (first.getTotalResults() + pageSize - 1) / pageSize;
+            return Observable.from(first.getResources()).concatWith(Observable.defer(() -> {
+                final PagePrefetcher<ScimUser> prefetcher = new PagePrefetcher<>(2, lastPage,
+                    number -> getUsersPage((number - 1) * pageSize + 1, pageSize, paging).getResources(),
+                    REQUEST_EXECUTOR, paging.getParallelism());
+
+                return Observable.range(2, lastPage - 1)
+                    .concatMap(number -> Observable.defer(() -> Observable.from(prefetcher.take(number))))
+                    .doOnUnsubscribe(prefetcher::cancel);
+            }));
+        });
+    }
+
+    private SearchResults<ScimUser> getUsersPage(int startIndex, int count, ScimPagingOptions paging) {
+        final Map<String, Object> pathVars = new HashMap<>();
+        pathVars.put("startIndex", startIndex);
+        pathVars.put("count", count);
+        String query = "/Users?startIndex={startIndex}&count={count}";
+        if (!paging.getAttributes().isEmpty()) {
+            query += "&attributes={attributes}";
+            pathVars.put("attributes", String.join(",", paging.getAttributes()));
+        }
+
+        return uaaRestTemplate.exchange(
+            uaaBaseUrl + query,
+            HttpMethod.GET,
+            null,
+            new ParameterizedTypeReference<SearchResults<ScimUser>>() {
+            },
+            pathVars).getBody();
+    }
+
     @Override
     public void deleteUser(UUID userGuid) {
         uaaRestTemplate.delete(uaaBaseUrl + "/Users/{id}", userGuid.toString());
@@ -70,12 +138,26 @@ public class UaaClient implements UaaOperations {
     
     @Override
     public Collection<UserIdNamePair> findUserNames(Collection<UUID> users) {
+        final List<List<UUID>> chunks = Lists.partition(ImmutableSet.copyOf(users).asList(), USER_NAMES_CHUNK);
+        if (chunks.size() <= 1) {
+            return chunks.isEmpty() ? ImmutableList.of() : findUserNamesChunk(chunks.get(0));
+        }
+
+        return Observable.from(chunks)
+            .flatMap(chunk -> Observable.defer(() -> Observable.from(findUserNamesChunk(chunk)))
+                .subscribeOn(Schedulers.from(REQUEST_EXECUTOR)), USER_NAMES_PARALLELISM)
+            .toList()
+            .toBlocking().single();
+    }
+
+    private Collection<UserIdNamePair> findUserNamesChunk(Collection<UUID> users) {
         String filter = users.stream()
                 .map(uuid -> "Id eq \"" + uuid + "\"")
                 .collect(joining(" or "));
-        
+
         String path = uaaBaseUrl + "/Users?attributes=id,userName&filter=" + filter;
-        return uaaRestTemplate.getForObject(path, UserIdNameList.class).getUsers();
+        Collection<UserIdNamePair> found = uaaRestTemplate.getForObject(path, UserIdNameList.class).getUsers();
+        return found == null ? ImmutableList.of() : found;
     }
     
     @Override
@@ -22,14 +22,38 @@ import java.util.UUID;
 import org.cloudfoundry.identity.uaa.rest.SearchResults;
 import org.cloudfoundry.identity.uaa.scim.ScimUser;
 
+import rx.Observable;
+
 public interface UaaOperations {
 
     ScimUser createUser(String username, String password);
 
     void deleteUser(UUID userGuid);
 
+    /**
+     * Returns first page of users, as sized by UAA.
+     */
     SearchResults<ScimUser> getUsers();
 
+    /**
+     * Returns all users with default paging.
+     * @see #getAllUsers(ScimPagingOptions)
+     */
+    Observable<ScimUser> getAllUsers();
+
+    /**
+     * Returns all users, page after page. Once the first page tells the total number of users,
+     * the following ones are fetched concurrently. Users are still emitted in order.
+     * @param paging page size, parallelism and attributes to download
+     */
+    Observable<ScimUser> getAllUsers(ScimPagingOptions paging);
+
+    /**
+     * Finds names of users with given GUIDs. Large collections are split into several
+     * requests sent concurrently.
+     * @param users user GUIDs
+     * @return GUID and name of every user found
+     */
     Collection<UserIdNamePair> findUserNames(Collection<UUID> users);
 
     void changePassword(UUID guid, ChangePasswordRequest request);
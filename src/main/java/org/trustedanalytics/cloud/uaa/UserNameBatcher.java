@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects single user name lookups made by many threads during a short window and resolves
+ * them with one {@link UaaOperations#findUserNames(Collection)} call. Lookups of the same user
+ * within a window share the result.
+ */
+public class UserNameBatcher {
+
+    // shared by all batchers, only closes batches when their window ends
+    private static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(1,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("uaa-user-name-batcher-%d").build());
+
+    // shared by all batchers, runs lookups of closed batches
+    private static final ExecutorService RESOLVER = Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("uaa-user-name-resolver-%d").build());
+
+    private final UaaOperations uaa;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private Map<UUID, CompletableFuture<Optional<String>>> pending = new HashMap<>();
+
+    /**
+     * Creates batcher waiting 5 milliseconds for more lookups, with up to 200 users per batch.
+     * @param uaa operations resolving batches
+     */
+    public UserNameBatcher(UaaOperations uaa) {
+        this(uaa, 5, TimeUnit.MILLISECONDS, 200);
+    }
+
+    /**
+     * @param uaa operations resolving batches
+     * @param window time batch waits for more lookups after the first one
+     * @param unit unit of window
+     * @param maxBatchSize number of users after which batch is resolved at once
+     */
+    public UserNameBatcher(UaaOperations uaa, long window, TimeUnit unit, int maxBatchSize) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Window must not be negative");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.uaa = Objects.requireNonNull(uaa);
+        this.windowMillis = unit.toMillis(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param user user GUID
+     * @return future name of user, empty if there is no such user
+     */
+    public CompletableFuture<Optional<String>> findUserName(UUID user) {
+        Objects.requireNonNull(user);
+        final CompletableFuture<Optional<String>> name;
+        Map<UUID, CompletableFuture<Optional<String>>> full = null;
+        synchronized (this) {
+            final CompletableFuture<Optional<String>> existing = pending.get(user);
+            if (existing != null) {
+                return existing;
+            }
+            name = new CompletableFuture<>();
+            pending.put(user, name);
+            if (pending.size() == 1) {
+                final Map<UUID, CompletableFuture<Optional<String>>> batch = pending;
+                SCHEDULER.schedule(() -> resolveAsync(take(batch)), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = take(pending);
+            }
+        }
+        resolveAsync(full);
+        return name;
+    }
+
+    /**
+     * Closes given batch, unless it was closed already.
+     * @return lookups of the batch, null if it was already taken
+     */
+    private synchronized Map<UUID, CompletableFuture<Optional<String>>> take(
+        Map<UUID, CompletableFuture<Optional<String>>> batch) {
+        if (batch != pending) {
+            return null;
+        }
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    /**
+     * Looks up names of given batch off the calling thread, so neither the scheduler nor the
+     * caller filling the batch waits for UAA.
+     * @param batch lookups of the batch, null if it was already taken
+     */
+    private void resolveAsync(Map<UUID, CompletableFuture<Optional<String>>> batch) {
+        if (batch != null) {
+            CompletableFuture.runAsync(() -> resolve(batch), RESOLVER);
+        }
+    }
+
+    private void resolve(Map<UUID, CompletableFuture<Optional<String>>> batch) {
+        try {
+            final Map<UUID, String> names = new HashMap<>();
+            uaa.findUserNames(batch.keySet()).forEach(pair -> names.put(pair.getGuid(), pair.getUserName()));
+            batch.forEach((user, name) -> name.complete(Optional.ofNullable(names.get(user))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(name -> name.completeExceptionally(e));
+        }
+    }
+}
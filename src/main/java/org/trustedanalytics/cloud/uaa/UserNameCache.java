@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of user GUIDs and names, readable both ways. Shared by clients which learn
+ * names from Cloud Controller and UAA responses, see {@link CachingUaaOperations} and
+ * {@link org.trustedanalytics.cloud.cc.UserNameRecordingCcOperations}. Names found missing in
+ * UAA are remembered for a shorter time, so repeated lookups of them do not reach UAA either.
+ */
+public class UserNameCache {
+
+    private final Cache<UUID, String> names;
+    private final Cache<String, UUID> guids;
+    private final Cache<String, Boolean> unknownNames;
+    private final ClientMetrics metrics;
+
+    /**
+     * Creates cache of at most 10000 users, kept for 10 minutes, unknown names for 1 minute.
+     */
+    public UserNameCache() {
+        this(10000, TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS,
+            ClientMetrics.NONE);
+    }
+
+    /**
+     * @param maximumSize maximum number of users, least recently used are evicted first
+     * @param ttl time after which user is forgotten, counted from the moment it was recorded
+     * @param unknownTtl time after which unknown name is looked up again
+     * @param unit unit of ttl and unknownTtl
+     * @param metrics receives every cache access, caches are named USER_NAMES and USER_GUIDS
+     */
+    public UserNameCache(long maximumSize, long ttl, long unknownTtl, TimeUnit unit, ClientMetrics metrics) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (ttl < 1 || unknownTtl < 1) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.names = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl, unit)
+            .build();
+        this.guids = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl, unit)
+            .build();
+        this.unknownNames = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(unknownTtl, unit)
+            .build();
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Records user, replacing name previously recorded for the GUID.
+     */
+    public void put(UUID guid, String userName) {
+        Objects.requireNonNull(guid);
+        Objects.requireNonNull(userName);
+        final String previous = names.getIfPresent(guid);
+        names.put(guid, userName);
+        if (previous != null && !previous.equals(userName)) {
+            guids.asMap().remove(previous, guid);
+        }
+        guids.put(userName, guid);
+        unknownNames.invalidate(userName);
+    }
+
+    /**
+     * Records that there is no user with given name.
+     */
+    public void putUnknown(String userName) {
+        guids.invalidate(userName);
+        unknownNames.put(userName, Boolean.TRUE);
+    }
+
+    /**
+     * @return name of user, empty if not cached
+     */
+    public Optional<String> getUserName(UUID guid) {
+        final String name = names.getIfPresent(guid);
+        metrics.cacheAccessed("USER_NAMES", name != null);
+        return Optional.ofNullable(name);
+    }
+
+    /**
+     * @return GUID of user, empty if not cached or unknown
+     */
+    public Optional<UUID> getUserGuid(String userName) {
+        final UUID guid = guids.getIfPresent(userName);
+        metrics.cacheAccessed("USER_GUIDS", guid != null || isUnknown(userName));
+        return Optional.ofNullable(guid);
+    }
+
+    /**
+     * @return true if name was recently found not to belong to any user
+     */
+    public boolean isUnknown(String userName) {
+        return unknownNames.getIfPresent(userName) != null;
+    }
+
+    /**
+     * Forgets user with given GUID, e.g. after it was deleted.
+     */
+    public void invalidate(UUID guid) {
+        final String name = names.getIfPresent(guid);
+        names.invalidate(guid);
+        if (name != null) {
+            guids.asMap().remove(name, guid);
+        }
+    }
+
+    /**
+     * Forgets all users and unknown names.
+     */
+    public void invalidateAll() {
+        names.invalidateAll();
+        guids.invalidateAll();
+        unknownNames.invalidateAll();
+    }
+}
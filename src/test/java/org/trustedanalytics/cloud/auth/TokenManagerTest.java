@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.auth;
+
+import static org.junit.Assert.assertEquals;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.FeignClientPresets;
+
+import feign.Client;
+import feign.Response;
+import feign.Util;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenManagerTest {
+
+    private final AtomicInteger fetched = new AtomicInteger();
+
+    @Test
+    public void getAuthorizationHeader_opaqueToken_fetchedOnce() {
+        final TokenManager sut = new TokenManager(() -> "token-" + fetched.incrementAndGet());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("bearer token-1", sut.getAuthorizationHeader());
+        }
+        assertEquals(1, fetched.get());
+    }
+
+    @Test
+    public void getToken_jwtCloseToExpiry_refreshedInBackground() {
+        final long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 30;
+        final TokenManager sut = new TokenManager(() -> jwt(fetched.incrementAndGet(), exp),
+            1, 5, TimeUnit.MINUTES, Runnable::run);
+
+        assertEquals(jwt(1, exp), sut.getToken());
+        // cached token is served while the next one is fetched
+        assertEquals(jwt(1, exp), sut.getToken());
+        assertEquals(jwt(2, exp), sut.getToken());
+    }
+
+    @Test
+    public void getToken_jwtExpired_fetchedAgain() {
+        final long exp = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - 1;
+        final TokenManager sut = new TokenManager(() -> jwt(fetched.incrementAndGet(), exp));
+
+        sut.getToken();
+        sut.getToken();
+
+        assertEquals(2, fetched.get());
+    }
+
+    @Test
+    public void refresh_sameStaleHeaderTwice_fetchedOnce() {
+        final TokenManager sut = new TokenManager(() -> "token-" + fetched.incrementAndGet());
+        final String stale = sut.getAuthorizationHeader();
+
+        sut.refresh(stale);
+        sut.refresh(stale);
+
+        assertEquals("bearer token-2", sut.getAuthorizationHeader());
+        assertEquals(2, fetched.get());
+    }
+
+    @Test
+    public void getOrg_revokedToken_retriedWithFreshToken() {
+        final TokenManager tokens = new TokenManager(() -> "token-" + fetched.incrementAndGet());
+        final UUID org = UUID.randomUUID();
+        final FeignClient sut = new FeignClient("http://api.example.com", FeignClientPresets.oauth2(tokens)
+            .andThen(builder -> builder.client(acceptingOnly("bearer token-2", org))));
+
+        assertEquals("org", sut.getOrg(org).toBlocking().single().getName());
+        assertEquals(2, fetched.get());
+    }
+
+    private static Client acceptingOnly(String authorization, UUID org) {
+        return (request, options) -> {
+            final Collection<String> header = request.headers().get("Authorization");
+            if (header == null || !header.contains(authorization)) {
+                return Response.create(401, "Unauthorized", Collections.emptyMap(),
+                    "{\"code\":1000,\"description\":\"Invalid Auth Token\",\"error_code\":\"CF-InvalidAuthToken\"}",
+                    Util.UTF_8);
+            }
+            final String body = "{\"metadata\":{\"guid\":\"" + org + "\"},\"entity\":{\"name\":\"org\"}}";
+            return Response.create(200, "OK", Collections.emptyMap(), body, Util.UTF_8);
+        };
+    }
+
+    private static String jwt(int number, long exp) {
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+            + encoder.encodeToString(("{\"jti\":\"" + number + "\",\"exp\":" + exp + "}")
+                .getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}
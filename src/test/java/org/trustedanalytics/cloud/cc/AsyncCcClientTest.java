@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CountKind;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.observers.TestSubscriber;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class AsyncCcClientTest {
+
+    private static final int TOTAL_PAGES = 3;
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+
+    private final Queue<String> requestedUrls = new ConcurrentLinkedQueue<>();
+
+    private HttpServer server;
+    private AsyncCcClient sut;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/organizations", exchange -> {
+            final String url = exchange.getRequestURI().toString();
+            requestedUrls.add(url);
+            final byte[] body = orgsPage(url).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        sut = new AsyncCcClient("http://localhost:" + server.getAddress().getPort(),
+            template -> template.header("Authorization", "bearer token"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        sut.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void getOrgs_slowSubscriber_nextPageRequestedOnDemand() throws InterruptedException {
+        final TestSubscriber<CcOrg> subscriber = new TestSubscriber<>(1);
+
+        sut.getOrgs().subscribe(subscriber);
+        waitForValues(subscriber, 1);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertThat(requestedUrls, hasSize(1));
+
+        subscriber.requestMore(Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoErrors();
+
+        final List<String> names = subscriber.getOnNextEvents().stream().map(CcOrg::getName)
+            .collect(Collectors.toList());
+        assertThat(names, contains("org-1a", "org-1b", "org-2a", "org-2b", "org-3a", "org-3b"));
+        assertThat(requestedUrls, hasSize(TOTAL_PAGES));
+    }
+
+    @Test
+    public void getCounts_orgs_totalResultsReturned() {
+        final Map<CountKind, Integer> counts = sut.getCounts(EnumSet.of(CountKind.ORGS)).toBlocking().single();
+
+        assertThat(counts.get(CountKind.ORGS), is(2 * TOTAL_PAGES));
+        assertThat(requestedUrls, contains("/v2/organizations?results-per-page=1"));
+    }
+
+    private static void waitForValues(TestSubscriber<?> subscriber, int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (subscriber.getOnNextEvents().size() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    /**
+     * Organizations collection with two organizations per page.
+     */
+    private static String orgsPage(String url) {
+        final Matcher matcher = PAGE.matcher(url);
+        final int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+        final String nextUrl = page < TOTAL_PAGES ? "\"/v2/organizations?page=" + (page + 1) + "\"" : "null";
+        return "{\"total_results\":" + 2 * TOTAL_PAGES + ",\"total_pages\":" + TOTAL_PAGES
+            + ",\"next_url\":" + nextUrl + ",\"resources\":[" + org(page + "a") + "," + org(page + "b") + "]}";
+    }
+
+    private static String org(String suffix) {
+        return "{\"metadata\":{\"guid\":\"" + UUID.randomUUID() + "\"},\"entity\":{\"name\":\"org-" + suffix + "\"}}";
+    }
+}
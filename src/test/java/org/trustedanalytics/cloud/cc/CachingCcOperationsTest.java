@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.trustedanalytics.cloud.cc.api.CcBuildpack;
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import rx.Observable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingCcOperationsTest {
+
+    private static final UUID ORG_GUID = UUID.randomUUID();
+
+    @Mock
+    private CcOperations delegate;
+
+    private CachingCcOperations sut;
+
+    @Before
+    public void setUp() {
+        sut = new CachingCcOperations(delegate);
+    }
+
+    @Test
+    public void getOrg_calledTwice_delegateCalledOnce() {
+        when(delegate.getOrg(ORG_GUID)).thenReturn(Observable.just(new CcOrg(ORG_GUID, "org")));
+
+        sut.getOrg(ORG_GUID).toBlocking().single();
+        final CcOrg org = sut.getOrg(ORG_GUID).toBlocking().single();
+
+        assertEquals("org", org.getName());
+        verify(delegate, times(1)).getOrg(ORG_GUID);
+    }
+
+    @Test
+    public void renameOrg_orgCached_orgFetchedAgain() {
+        when(delegate.getOrg(ORG_GUID)).thenReturn(
+            Observable.just(new CcOrg(ORG_GUID, "org")),
+            Observable.just(new CcOrg(ORG_GUID, "renamed")));
+
+        sut.getOrg(ORG_GUID).toBlocking().single();
+        sut.renameOrg(ORG_GUID, "renamed");
+        final CcOrg org = sut.getOrg(ORG_GUID).toBlocking().single();
+
+        assertEquals("renamed", org.getName());
+        verify(delegate).renameOrg(ORG_GUID, "renamed");
+        verify(delegate, times(2)).getOrg(ORG_GUID);
+    }
+
+    @Test
+    public void getBuildpacks_concurrentMisses_coalescedIntoSingleCall() throws Exception {
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        when(delegate.getBuildpacks()).thenReturn(Observable.defer(() -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            awaitQuietly(release);
+            return Observable.just(new CcBuildpack());
+        }));
+
+        final CompletableFuture<List<CcBuildpack>> first =
+            CompletableFuture.supplyAsync(() -> sut.getBuildpacks().toList().toBlocking().single());
+        loadStarted.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<List<CcBuildpack>> second =
+            CompletableFuture.supplyAsync(() -> sut.getBuildpacks().toList().toBlocking().single());
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
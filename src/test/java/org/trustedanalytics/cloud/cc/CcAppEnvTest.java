@@ -16,7 +16,11 @@
 package org.trustedanalytics.cloud.cc;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.Before;
@@ -26,6 +30,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.trustedanalytics.cloud.cc.api.CcAppEnv;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
 
 @RunWith(MockitoJUnitRunner.class) public class CcAppEnvTest {
 
@@ -175,4 +181,46 @@ import java.io.IOException;
         String actualHostname = ccAppEnvFromExtendedJson.findCredentialsPropertyByServiceName("rstudio-1", "hostname");
         assertEquals(expectedHostname, actualHostname);
     }
+
+    @Test public void getValueByFilter_definitePath_valueReturnedAsNode() throws IOException {
+        String actualApiEndpoint = ccAppEnv.getValueByFilter("$['user-provided'][0].credentials.apiEndpoint").asText();
+        assertEquals("http://api.example.eu", actualApiEndpoint);
+    }
+
+    @Test public void getValueByFilter_repeatedFilter_sameResult() throws IOException {
+        String filter = "$..[?(@.name=='rstudio-2')]..credentials..port";
+        assertEquals(ccAppEnvFromExtendedJson.getValueByFilter(filter), ccAppEnvFromExtendedJson.getValueByFilter(filter));
+        assertEquals("[\"3772\"]", ccAppEnvFromExtendedJson.getValueByFilter(filter).toString());
+    }
+
+    @Test public void findCredentialsPropertyByServiceName_quoteInName_notFound() throws IOException {
+        assertNull(ccAppEnvFromExtendedJson.findCredentialsPropertyByServiceName("rstudio-1')]", "hostname"));
+    }
+
+    @Test public void findCredentialsPropertyByServiceLabel_nestedProperty_found() throws IOException {
+        assertEquals("3736", ccAppEnvFromExtendedJson.findCredentialsPropertyByServiceLabel("rstudio", "8787/tcp"));
+    }
+
+    @Test public void getServices_extendedJson_indexedByLabelAndTag() {
+        assertEquals(3, ccAppEnvFromExtendedJson.getServices().findByLabel("rstudio").size());
+        assertEquals("cdh-xyz", ccAppEnvFromExtendedJson.getServices().findByTag("shared").get(0).getName());
+        assertEquals("free", ccAppEnvFromExtendedJson.getServices().findByName("rstudio-2").get().getPlan());
+    }
+
+    @Test public void serialize_servicesIndexed_onlyEnvWritten() {
+        ccAppEnvFromExtendedJson.getServices();
+
+        JsonNode json = new ObjectMapper().valueToTree(ccAppEnvFromExtendedJson);
+
+        assertTrue(json.has("env"));
+        assertFalse(json.has("services"));
+    }
+
+    @Test public void credentialsFor_someNamesBound_credentialsOfBoundServices() {
+        Map<String, Map<String, Object>> credentials =
+            ccAppEnvFromExtendedJson.credentialsFor(Arrays.asList("rstudio-3", "missing", "cdh-xyz"));
+        assertEquals(Arrays.asList("rstudio-3", "cdh-xyz"), Arrays.asList(credentials.keySet().toArray()));
+        assertEquals("10.13.5.251", credentials.get("rstudio-3").get("hostname"));
+        assertEquals(0, credentials.get("cdh-xyz").size());
+    }
 }
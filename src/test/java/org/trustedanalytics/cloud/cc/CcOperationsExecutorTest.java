@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.trustedanalytics.cloud.cc.api.CcOperations;
+import org.trustedanalytics.cloud.cc.api.CcSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CcOperationsExecutorTest {
+
+    private static final int MAX_CONCURRENCY = 2;
+
+    @Mock
+    private CcOperations delegate;
+
+    private CcOperationsExecutor sut;
+
+    @Before
+    public void setUp() {
+        sut = new CcOperationsExecutor(delegate, MAX_CONCURRENCY);
+    }
+
+    @After
+    public void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    public void getSpaceSummary_delegateCalled_summaryReturned() throws Exception {
+        final UUID space = UUID.randomUUID();
+        final CcSummary summary = new CcSummary();
+        when(delegate.getSpaceSummary(space)).thenReturn(summary);
+
+        assertSame(summary, sut.getSpaceSummary(space).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void submit_manyCalls_concurrencyLimited() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final List<CompletableFuture<Integer>> calls = IntStream.range(0, 10)
+            .mapToObj(i -> sut.submit(cc -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleepQuietly(20);
+                running.decrementAndGet();
+                return i;
+            }))
+            .collect(Collectors.toList());
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[calls.size()])).get(5, TimeUnit.SECONDS);
+
+        assertTrue(maxRunning.get() <= MAX_CONCURRENCY);
+        assertEquals(MAX_CONCURRENCY, sut.availablePermits());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void submit_callFails_futureCompletedExceptionally() throws Throwable {
+        try {
+            sut.submit(cc -> {
+                throw new IllegalStateException();
+            }).get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.trustedanalytics.cloud.cc.api.BulkBindingOptions;
+import org.trustedanalytics.cloud.cc.api.BulkBindingResult;
+import org.trustedanalytics.cloud.cc.api.CcNewServiceBinding;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcOrgPermission;
+import org.trustedanalytics.cloud.cc.api.CountKind;
+import org.trustedanalytics.cloud.cc.api.customizations.ErrorDecoderHandler;
+import org.trustedanalytics.cloud.cc.api.customizations.RateLimitSettings;
+import org.trustedanalytics.cloud.cc.api.customizations.RequestRejectedException;
+import org.trustedanalytics.cloud.cc.api.customizations.RetryPolicy;
+import org.trustedanalytics.cloud.cc.api.manageusers.Role;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChange;
+import org.trustedanalytics.cloud.cc.api.manageusers.RoleChangeResult;
+import org.trustedanalytics.cloud.cc.api.queries.OrderDirection;
+import org.trustedanalytics.cloud.cc.api.queries.PagingOptions;
+import org.trustedanalytics.cloud.cc.stub.CcStubServer;
+import org.trustedanalytics.cloud.cc.stub.StubSettings;
+import org.trustedanalytics.cloud.metrics.ClientMetrics;
+import org.trustedanalytics.cloud.metrics.RecordingClientMetrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import feign.Client;
+import feign.Response;
+import feign.Util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class FeignClientTest {
+
+    private static final String API_URL = "http://api.example.com";
+    private static final Pattern PAGE = Pattern.compile("[?&]page=(\\d+)");
+    private static final UUID USER = UUID.randomUUID();
+    private static final UUID ORG_A = UUID.randomUUID();
+    private static final UUID ORG_B = UUID.randomUUID();
+    private static final UUID ORG_C = UUID.randomUUID();
+
+    private final Queue<String> requestedUrls = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void getOrgs_singlePageFetching_allPagesInOrder() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(5)));
+
+        final List<String> names = sut.getOrgs().map(CcOrg::getName).toList().toBlocking().single();
+
+        assertThat(names, contains("org-1", "org-2", "org-3", "org-4", "org-5"));
+        assertThat(requestedUrls, hasSize(5));
+    }
+
+    @Test
+    public void getOrgs_parallelPageFetching_allPagesInOrder() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(20)), 4);
+
+        final List<String> names = sut.getOrgs().map(CcOrg::getName).toList().toBlocking().single();
+
+        assertThat(names, contains(IntStream.rangeClosed(1, 20).mapToObj(i -> "org-" + i).toArray()));
+        assertThat(requestedUrls, hasSize(20));
+    }
+
+    @Test
+    public void getOrgs_parallelPageFetching_singlePage() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(1)), 4);
+
+        final List<String> names = sut.getOrgs().map(CcOrg::getName).toList().toBlocking().single();
+
+        assertThat(names, contains("org-1"));
+    }
+
+    @Test
+    public void getOrgs_pagingOptions_appliedToEveryPageRequest() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(3)));
+        final PagingOptions paging = PagingOptions.maxResultsPerPage().withOrderDirection(OrderDirection.DESC);
+
+        sut.getOrgs(paging).toList().toBlocking().single();
+
+        assertThat(requestedUrls, hasSize(3));
+        assertThat(requestedUrls, everyItem(containsString("results-per-page=100")));
+        assertThat(requestedUrls, everyItem(containsString("order-direction=desc")));
+        assertThat(requestedUrls, everyItem(not(containsString("order-direction=asc"))));
+    }
+
+    @Test
+    public void getSpaces_pagingOptions_annotatedRequestKeepsItsParameters() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(1)));
+
+        sut.getSpaces(ORG_A, PagingOptions.maxResultsPerPage()).toList().toBlocking().single();
+
+        assertThat(requestedUrls, contains(API_URL + "/v2/organizations/" + ORG_A + "/spaces"
+            + "?inline-relations-depth=1&results-per-page=100"));
+    }
+
+    @Test
+    public void getCounts_allKinds_singleResultPagesRequested() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(countPages()));
+
+        final Map<CountKind, Integer> counts = sut.getCounts(EnumSet.allOf(CountKind.class)).toBlocking().single();
+
+        assertThat(counts.keySet(), contains(CountKind.values()));
+        counts.forEach((kind, count) -> assertThat(count, is(kind.getCollection().length())));
+        assertThat(requestedUrls, hasSize(CountKind.values().length));
+        assertThat(requestedUrls, everyItem(containsString("results-per-page=1")));
+    }
+
+    @Test(expected = RequestRejectedException.class)
+    public void getOrgsCount_rateLimited_limiterSharedWithOtherResources() {
+        final RateLimitSettings settings = RateLimitSettings.DEFAULT.withRate(0.001, 1)
+            .withMaxWait(0, TimeUnit.MILLISECONDS);
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.rateLimited(settings)
+            .andThen(builder -> builder.client(orgPages(1))));
+        sut.getOrgs().toBlocking().last();
+
+        // the only token of the bucket was taken by getOrgs
+        sut.getOrgsCount().toBlocking().single();
+    }
+
+    @Test
+    public void getOrgs_retryingWithCustomHandler_handlerClassifiesRetryableErrors() {
+        final ErrorDecoderHandler serverBusy = new ErrorDecoderHandler() {
+            @Override public boolean test(Response response) {
+                return response.status() == 500;
+            }
+
+            @Override public Exception apply(String methodKey, Response response) {
+                return new IllegalStateException("busy");
+            }
+
+            @Override public boolean isRetryable(Response response) {
+                return true;
+            }
+        };
+        final AtomicInteger attempts = new AtomicInteger();
+        final Client pages = orgPages(1);
+        final Client busyOnce = (request, options) -> attempts.getAndIncrement() == 0
+            ? Response.create(500, "Internal Server Error", Collections.emptyMap(), "busy", Util.UTF_8)
+            : pages.execute(request, options);
+        final RetryPolicy policy = RetryPolicy.DEFAULT.withBackoff(1, 1, TimeUnit.MILLISECONDS);
+        final FeignClient sut = new FeignClient(API_URL,
+            FeignClientPresets.retrying(policy, ClientMetrics.NONE, ImmutableList.of(serverBusy))
+                .andThen(builder -> builder.client(busyOnce)));
+
+        assertThat(sut.getOrgs().toList().toBlocking().single(), hasSize(1));
+        assertThat(attempts.get(), equalTo(2));
+    }
+
+    @Test
+    public void getOrgsCount_pageResponse_totalResultsReturned() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(1)));
+
+        assertThat(sut.getOrgsCount().toBlocking().single(), is(1));
+    }
+
+    @Test
+    public void getOrgs_interceptorsPreset_everyPageRequestIntercepted() {
+        final Queue<String> intercepted = new ConcurrentLinkedQueue<>();
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.interceptors(invocation -> {
+            intercepted.add(invocation.getHttpMethod() + " " + invocation.getConfigKey());
+            return invocation.proceed();
+        }).andThen(builder -> builder.client(orgPages(2))));
+
+        sut.getOrgs().toList().toBlocking().single();
+
+        assertThat(intercepted, contains("GET CcOrganizationResource#getOrgs()",
+            "GET CcOrganizationResource#getOrgs(URI)"));
+    }
+
+    @Test
+    public void getOrgs_metrics_requestsAndPagesRecorded() throws IOException {
+        final RecordingClientMetrics metrics = new RecordingClientMetrics();
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withOrgs(120))) {
+            final FeignClient sut = new FeignClient(server.getUrl(), Function.identity(), 1, metrics);
+
+            sut.getOrgs().toBlocking().last();
+            sut.getOrg(server.getDataSet().getOrgs().get(0)).toBlocking().single();
+        }
+
+        final RecordingClientMetrics.OperationStats orgs = metrics.getOperation("GET /v2/organizations");
+        assertThat(orgs.getStatusCount(200), equalTo(3L));
+        assertThat(orgs.getBytesReceived(), greaterThan(0L));
+        assertThat(metrics.getOperation("GET /v2/organizations/{guid}").getStatusCount(200), equalTo(1L));
+        assertThat(metrics.getPages("/v2/organizations").getSum(), equalTo(3L));
+    }
+
+    @Test
+    public void getOrgs_metricsWithCustomTransport_customTransportMetered() {
+        final RecordingClientMetrics metrics = new RecordingClientMetrics();
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(orgPages(2)), 1, metrics);
+
+        sut.getOrgs().toBlocking().last();
+
+        assertThat(requestedUrls, hasSize(2));
+        assertThat(metrics.getOperation("GET /v2/organizations").getStatusCount(200), equalTo(2L));
+    }
+
+    @Test
+    public void getUserPermissions_userRolesQueried_permissionsInUserOrgs() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(permissions()));
+
+        final Collection<CcOrgPermission> permissions = sut.getUserPermissions(USER, ImmutableList.of());
+
+        assertThat(describe(permissions), contains("org-a manager", "org-b billingManager"));
+    }
+
+    @Test
+    public void getUserPermissions_bulkWithOrgs_permissionsFromOrgRoles() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(permissions()));
+        final UUID other = UUID.randomUUID();
+
+        final Map<UUID, Collection<CcOrgPermission>> permissions =
+            sut.getUserPermissions(ImmutableList.of(USER, other), ImmutableList.of(ORG_A, ORG_B, ORG_C));
+
+        assertThat(permissions.keySet(), contains(USER, other));
+        assertThat(describe(permissions.get(USER)), contains("org-a manager", "org-b billingManager"));
+        assertThat(permissions, hasEntry(other, Collections.emptyList()));
+        assertThat(requestedUrls, everyItem(containsString("/v2/organizations/")));
+    }
+
+    @Test
+    public void getUserPermissions_bulkWithMissingOrg_orgSkipped() {
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client(permissions()));
+
+        final Map<UUID, Collection<CcOrgPermission>> permissions =
+            sut.getUserPermissions(ImmutableList.of(USER), ImmutableList.of(ORG_A, UUID.randomUUID()));
+
+        assertThat(describe(permissions.get(USER)), contains("org-a manager"));
+    }
+
+    @Test
+    public void applyRoleChanges_duplicatesAndFailure_resultPerChange() {
+        final UUID space = UUID.randomUUID();
+        final String failing = "/v2/spaces/" + space + "/auditors/" + USER;
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client((request, options) -> {
+            requestedUrls.add(request.method() + " " + request.url().substring(API_URL.length()));
+            return request.url().endsWith(failing)
+                ? Response.create(400, "Bad Request", Collections.emptyMap(),
+                    "{\"code\":1002,\"description\":\"Invalid relation\",\"error_code\":\"CF-InvalidRelation\"}",
+                    Util.UTF_8)
+                : Response.create(201, "Created", Collections.emptyMap(), "{}", Util.UTF_8);
+        }));
+        final List<RoleChange> changes = ImmutableList.<RoleChange>builder()
+            .addAll(RoleChange.assignUserToSpace(USER, space))
+            .add(RoleChange.assignSpaceRole(USER, space, Role.AUDITORS))
+            .add(RoleChange.assignOrgRole(USER, ORG_B, Role.AUDITORS))
+            .addAll(RoleChange.assignUserToOrganization(USER, ORG_A))
+            .add(RoleChange.assignSpaceRole(USER, space, Role.DEVELOPERS))
+            .add(RoleChange.revokeOrgRole(USER, ORG_B, Role.AUDITORS))
+            .build();
+
+        final List<RoleChangeResult> results = sut.applyRoleChanges(changes, 2);
+
+        assertThat(results.stream().map(RoleChangeResult::getStatus).collect(Collectors.toList()), contains(
+            RoleChangeResult.Status.APPLIED, RoleChangeResult.Status.APPLIED, RoleChangeResult.Status.FAILED,
+            RoleChangeResult.Status.SUPERSEDED, RoleChangeResult.Status.APPLIED, RoleChangeResult.Status.APPLIED,
+            RoleChangeResult.Status.APPLIED, RoleChangeResult.Status.APPLIED));
+        assertThat(requestedUrls, hasSize(6));
+        assertThat(requestedUrls.peek(), equalTo("PUT /v2/organizations/" + ORG_A + "/users/" + USER));
+    }
+
+    @Test
+    public void createServiceBindings_restageRequested_eachBoundAppRestagedOnce() {
+        final UUID instance = UUID.randomUUID();
+        final UUID appA = UUID.randomUUID();
+        final UUID appB = UUID.randomUUID();
+        final UUID failingApp = UUID.randomUUID();
+        final FeignClient sut = new FeignClient(API_URL, builder -> builder.client((request, options) -> {
+            final String body = request.body() == null ? "" : new String(request.body(), Util.UTF_8);
+            requestedUrls.add(request.method() + " " + request.url().substring(API_URL.length()));
+            if (body.contains(failingApp.toString())) {
+                return Response.create(400, "Bad Request", Collections.emptyMap(),
+                    "{\"code\":90003,\"description\":\"Already bound\",\"error_code\":\"CF-ServiceBindingAppServiceTaken\"}",
+                    Util.UTF_8);
+            }
+            return Response.create(201, "Created", Collections.emptyMap(), "{\"metadata\":{\"guid\":\""
+                + UUID.randomUUID() + "\"},\"entity\":" + body + "}", Util.UTF_8);
+        }));
+        final List<CcNewServiceBinding> bindings = ImmutableList.of(new CcNewServiceBinding(appA, instance),
+            new CcNewServiceBinding(appB, instance), new CcNewServiceBinding(appA, UUID.randomUUID()),
+            new CcNewServiceBinding(failingApp, instance));
+
+        final BulkBindingResult<CcNewServiceBinding> result = sut.createServiceBindings(bindings,
+            BulkBindingOptions.DEFAULT.withParallelism(2).withRestage(true));
+
+        assertThat(result.getBindings(), hasSize(3));
+        assertThat(result.getFailures().keySet(), contains(new CcNewServiceBinding(failingApp, instance)));
+        assertThat(result.getRestagedApps(), containsInAnyOrder(appA, appB));
+        assertThat(requestedUrls.stream().filter(url -> url.endsWith("/restage")).collect(Collectors.toList()),
+            containsInAnyOrder("POST /v2/apps/" + appA + "/restage", "POST /v2/apps/" + appB + "/restage"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void roleChange_spaceRoleInOrganization_rejected() {
+        RoleChange.assignOrgRole(USER, ORG_A, Role.DEVELOPERS);
+    }
+
+    private static List<String> describe(Collection<CcOrgPermission> permissions) {
+        return permissions.stream()
+            .map(permission -> permission.getOrganization().getName()
+                + (permission.isManager() ? " manager" : "")
+                + (permission.isAuditor() ? " auditor" : "")
+                + (permission.isBillingManager() ? " billingManager" : ""))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Serves roles of USER, who is manager of org-a, billing manager of org-b and not a member of org-c.
+     */
+    private Client permissions() {
+        final String orgA = org(ORG_A, "org-a");
+        final String orgB = org(ORG_B, "org-b");
+        final Map<String, String> bodies = ImmutableMap.<String, String>builder()
+            .put("/v2/users/" + USER + "/organizations", "{\"resources\":[" + orgA + "," + orgB + "]}")
+            .put("/v2/users/" + USER + "/managed_organizations", "{\"resources\":[" + orgA + "]}")
+            .put("/v2/users/" + USER + "/audited_organizations", "{\"resources\":[]}")
+            .put("/v2/users/" + USER + "/billing_managed_organizations", "{\"resources\":[" + orgB + "]}")
+            .put("/v2/organizations/" + ORG_A, orgA)
+            .put("/v2/organizations/" + ORG_B, orgB)
+            .put("/v2/organizations/" + ORG_C, org(ORG_C, "org-c"))
+            .put("/v2/organizations/" + ORG_A + "/user_roles", userRolesPage("org_user", "org_manager"))
+            .put("/v2/organizations/" + ORG_B + "/user_roles", userRolesPage("org_user", "billing_manager"))
+            .put("/v2/organizations/" + ORG_C + "/user_roles", "{\"resources\":[]}")
+            .build();
+        return (request, options) -> {
+            requestedUrls.add(request.url());
+            final String path = request.url().substring(API_URL.length()).replaceAll("\\?.*", "");
+            return bodies.containsKey(path)
+                ? Response.create(200, "OK", Collections.emptyMap(), bodies.get(path), Util.UTF_8)
+                : Response.create(404, "Not Found", Collections.emptyMap(),
+                    "{\"code\":30003,\"description\":\"The organization could not be found\"}", Util.UTF_8);
+        };
+    }
+
+    private static String userRolesPage(String... roles) {
+        return "{\"total_results\":1,\"total_pages\":1,\"next_url\":null,\"resources\":[{\"metadata\":{\"guid\":\""
+            + USER + "\"},\"entity\":{\"username\":\"user\",\"roles\":[\"" + String.join("\",\"", roles) + "\"]}}]}";
+    }
+
+    /**
+     * Serves single-entity pages with total_results equal to the length of requested collection name.
+     */
+    private Client countPages() {
+        return (request, options) -> {
+            requestedUrls.add(request.url());
+            final String collection = request.url().replaceAll(".*/v2/([a-z_]+).*", "$1");
+            final String body = "{\"resources\":[" + org(1) + "],\"total_results\":" + collection.length() + "}";
+            return Response.create(200, "OK", Collections.emptyMap(), body, Util.UTF_8);
+        };
+    }
+
+    /**
+     * Serves organizations collection with one organization per page.
+     */
+    private Client orgPages(int totalPages) {
+        return (request, options) -> {
+            requestedUrls.add(request.url());
+            final Matcher matcher = PAGE.matcher(request.url());
+            final int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            final String nextUrl = page < totalPages
+                ? "\"/v2/organizations?order-direction=asc&page=" + (page + 1) + "&results-per-page=1\""
+                : "null";
+            final String body = "{\"total_results\":" + totalPages + ",\"total_pages\":" + totalPages
+                + ",\"next_url\":" + nextUrl + ",\"resources\":[" + org(page) + "]}";
+            return Response.create(200, "OK", Collections.emptyMap(), body, Util.UTF_8);
+        };
+    }
+
+    private static String org(int number) {
+        return org(UUID.randomUUID(), "org-" + number);
+    }
+
+    private static String org(UUID guid, String name) {
+        return "{\"metadata\":{\"guid\":\"" + guid + "\"},\"entity\":{\"name\":\"" + name + "\"}}";
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ApacheHttpClientTest {
+
+    private static final String ORGS_PAGE = "{\"total_results\":1,\"total_pages\":1,\"next_url\":null,"
+        + "\"resources\":[{\"metadata\":{\"guid\":\"5f9074f8-c019-4e5a-8dc4-0b37b651f57b\"},"
+        + "\"entity\":{\"name\":\"org\"}}]}";
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private ApacheHttpClient sut;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/organizations", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            final byte[] body = ORGS_PAGE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        sut = new ApacheHttpClient(ConnectionPoolSettings.DEFAULT);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        sut.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void execute_sequentialRequests_connectionReused() {
+        final FeignClient client = new FeignClient("http://localhost:" + server.getAddress().getPort(),
+            builder -> builder.client(sut));
+
+        for (int i = 0; i < 5; i++) {
+            final List<String> names = client.getOrgs().map(CcOrg::getName).toList().toBlocking().single();
+            assertThat(names, contains("org"));
+        }
+
+        assertThat(clientPorts, hasSize(1));
+    }
+}
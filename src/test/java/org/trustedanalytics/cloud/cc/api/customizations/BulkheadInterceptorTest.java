@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.trustedanalytics.cloud.cc.api.resources.CcServiceResource;
+import org.trustedanalytics.cloud.metrics.RecordingClientMetrics;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BulkheadInterceptorTest {
+
+    private static final String SERVICES = "CcServiceResource#createServiceInstance(CcNewServiceInstance)";
+    private static final String ORGS = "CcOrganizationResource#getOrgs(URI)";
+
+    private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+    private final BulkheadInterceptor sut = new BulkheadInterceptor(BulkheadSettings.DEFAULT
+        .withMaxConcurrentCalls(CcServiceResource.class, 1).withMaxWait(0, TimeUnit.SECONDS), metrics);
+
+    @Test
+    public void intercept_resourceBulkheadFull_otherResourcesUnaffected() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        final CompletableFuture<Object> slow = CompletableFuture.supplyAsync(() -> intercept(SERVICES, args -> {
+            started.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return "created";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        try {
+            intercept(SERVICES, args -> "created");
+            fail("Call should be rejected");
+        } catch (RequestRejectedException expected) {
+            // the only slot of services is taken
+        }
+        assertEquals("orgs", intercept(ORGS, args -> "orgs"));
+        assertEquals(0, sut.getAvailableCalls("CcServiceResource"));
+        assertEquals(20, sut.getAvailableCalls("CcOrganizationResource"));
+
+        finish.countDown();
+        assertEquals("created", slow.get(5, TimeUnit.SECONDS));
+        assertEquals(1, sut.getAvailableCalls("CcServiceResource"));
+        assertEquals(1L, metrics.getRejected("CcServiceResource"));
+    }
+
+    private Object intercept(String configKey, MethodHandler response) {
+        try {
+            return sut.intercept(new ResourceInvocation(null, null, configKey, "POST", null, response));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
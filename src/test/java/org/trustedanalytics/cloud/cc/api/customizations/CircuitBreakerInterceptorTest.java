@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.trustedanalytics.cloud.metrics.RecordingClientMetrics;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class CircuitBreakerInterceptorTest {
+
+    private static final String SERVICES = "CcServiceResource#getServices(URI)";
+    private static final String ORGS = "CcOrganizationResource#getOrgs(URI)";
+
+    private static final MethodHandler UNAVAILABLE = args -> {
+        throw new CloudFoundryException(503, 10015, "Service Unavailable", "CF-ServiceUnavailable");
+    };
+    private static final MethodHandler NOT_FOUND = args -> {
+        throw new CloudFoundryException(404, 10000, "Unknown request", "CF-NotFound");
+    };
+    private static final MethodHandler OK = args -> "ok";
+    private static final MethodHandler BULKHEAD_FULL = args -> {
+        throw new RequestRejectedException("Bulkhead of CcServiceResource is full");
+    };
+
+    private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+
+    @Test
+    public void intercept_failureRateExceeded_resourceCircuitOpened() {
+        final CircuitBreakerInterceptor sut = new CircuitBreakerInterceptor(
+            CircuitBreakerSettings.DEFAULT.withWindow(4, 4), metrics);
+
+        intercept(sut, SERVICES, OK);
+        intercept(sut, SERVICES, OK);
+        intercept(sut, SERVICES, UNAVAILABLE);
+        intercept(sut, SERVICES, UNAVAILABLE);
+
+        assertEquals(CircuitState.OPEN, sut.getState("CcServiceResource"));
+        assertEquals("OPEN", metrics.getCircuitState("CcServiceResource"));
+        try {
+            intercept(sut, SERVICES, OK);
+            fail("Call should fail fast");
+        } catch (CircuitOpenException expected) {
+            // circuit open
+        }
+        assertEquals("ok", intercept(sut, ORGS, OK));
+    }
+
+    @Test
+    public void intercept_clientErrors_circuitStaysClosed() {
+        final CircuitBreakerInterceptor sut = new CircuitBreakerInterceptor(
+            CircuitBreakerSettings.DEFAULT.withWindow(4, 4), metrics);
+
+        for (int i = 0; i < 4; i++) {
+            intercept(sut, SERVICES, NOT_FOUND);
+        }
+
+        assertEquals(CircuitState.CLOSED, sut.getState("CcServiceResource"));
+    }
+
+    @Test
+    public void intercept_openDurationElapsed_trialCallsCloseCircuit() throws InterruptedException {
+        final CircuitBreakerInterceptor sut = new CircuitBreakerInterceptor(CircuitBreakerSettings.DEFAULT
+            .withWindow(2, 2).withRecovery(50, TimeUnit.MILLISECONDS, 2), metrics);
+        intercept(sut, SERVICES, UNAVAILABLE);
+        intercept(sut, SERVICES, UNAVAILABLE);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        intercept(sut, SERVICES, OK);
+        assertEquals(CircuitState.HALF_OPEN, sut.getState("CcServiceResource"));
+        intercept(sut, SERVICES, OK);
+
+        assertEquals(CircuitState.CLOSED, sut.getState("CcServiceResource"));
+        // closed -> open -> half open -> closed
+        assertEquals(3, metrics.getCircuitTransitions("CcServiceResource"));
+    }
+
+    @Test
+    public void intercept_bulkheadRejectsTrialCall_circuitStaysHalfOpen() throws InterruptedException {
+        final CircuitBreakerInterceptor sut = new CircuitBreakerInterceptor(CircuitBreakerSettings.DEFAULT
+            .withWindow(2, 2).withRecovery(50, TimeUnit.MILLISECONDS, 1), metrics);
+        intercept(sut, SERVICES, UNAVAILABLE);
+        intercept(sut, SERVICES, UNAVAILABLE);
+
+        TimeUnit.MILLISECONDS.sleep(100);
+        try {
+            intercept(sut, SERVICES, BULKHEAD_FULL);
+            fail("Call should be rejected");
+        } catch (RequestRejectedException expected) {
+            // rejected before reaching Cloud Controller
+        }
+        assertEquals(CircuitState.HALF_OPEN, sut.getState("CcServiceResource"));
+
+        // the trial permit was given back
+        assertEquals("ok", intercept(sut, SERVICES, OK));
+        assertEquals(CircuitState.CLOSED, sut.getState("CcServiceResource"));
+    }
+
+    private static Object intercept(CircuitBreakerInterceptor sut, String configKey, MethodHandler response) {
+        try {
+            return sut.intercept(new ResourceInvocation(null, null, configKey, "GET", null, response));
+        } catch (RequestRejectedException e) {
+            throw e;
+        } catch (CloudFoundryException e) {
+            return e.getHttpCode();
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.trustedanalytics.cloud.metrics.RecordingClientMetrics;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitingInterceptorTest {
+
+    private static final String CONFIG_KEY = "CcOrganizationResource#getOrgs()";
+
+    private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+
+    @Test
+    public void intercept_serviceUnavailable_limitDecreasedAndReported() {
+        final RateLimitingInterceptor sut = new RateLimitingInterceptor(RateLimitSettings.DEFAULT
+            .withConcurrency(10, 2, 20).withBackoffRatio(0.5), metrics, "test");
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                intercept(sut, args -> {
+                    throw new CloudFoundryException(503, 0, "unavailable", "CF-Unavailable");
+                });
+                fail("Exception expected");
+            } catch (CloudFoundryException expected) {
+                // limit adjusted
+            }
+        }
+
+        // 10 -> 5 -> 2.5 -> bounded by min
+        assertEquals(2, sut.getConcurrencyLimit());
+        assertEquals(2, metrics.getConcurrencyLimit("test"));
+    }
+
+    @Test
+    public void intercept_concurrencyLimitReached_requestShed() throws Exception {
+        final RateLimitingInterceptor sut = new RateLimitingInterceptor(RateLimitSettings.DEFAULT
+            .withConcurrency(1, 1, 1).withMaxWait(0, TimeUnit.SECONDS), metrics, "test");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+
+        final CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> intercept(sut, args -> {
+            started.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return "first";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        try {
+            intercept(sut, args -> "second");
+            fail("Request should be rejected");
+        } catch (RequestRejectedException expected) {
+            // slot is taken by the first request
+        }
+        finish.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, metrics.getRejected("test"));
+        assertEquals("third", intercept(sut, args -> "third"));
+    }
+
+    @Test
+    public void intercept_burstExhausted_requestWaitsForPermit() {
+        final RateLimitingInterceptor sut = new RateLimitingInterceptor(RateLimitSettings.DEFAULT
+            .withRate(20, 1), metrics, "test");
+
+        final long start = System.nanoTime();
+        intercept(sut, args -> "first");
+        intercept(sut, args -> "second");
+
+        // second permit is available 50 ms after the first one
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public void intercept_rateExceededWithoutWaiting_requestShed() {
+        final RateLimitingInterceptor sut = new RateLimitingInterceptor(RateLimitSettings.DEFAULT
+            .withRate(1, 1).withMaxWait(0, TimeUnit.SECONDS), metrics, "test");
+
+        intercept(sut, args -> "first");
+        try {
+            intercept(sut, args -> "second");
+            fail("Request should be rejected");
+        } catch (RequestRejectedException expected) {
+            assertEquals(1L, metrics.getRejected("test"));
+        }
+    }
+
+    private static Object intercept(RateLimitingInterceptor sut, MethodHandler response) {
+        try {
+            return sut.intercept(new ResourceInvocation(null, null, CONFIG_KEY, "GET", null, response));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.FeignClientPresets;
+import org.trustedanalytics.cloud.metrics.RecordingClientMetrics;
+
+import com.google.common.collect.ImmutableMap;
+
+import feign.Client;
+import feign.Response;
+import feign.Util;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryingInterceptorTest {
+
+    private static final String API_URL = "http://api.example.com";
+    private static final String UNAVAILABLE =
+        "{\"code\":10015,\"description\":\"Service Unavailable\",\"error_code\":\"CF-ServiceUnavailable\"}";
+    private static final UUID ORG = UUID.randomUUID();
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final RecordingClientMetrics metrics = new RecordingClientMetrics();
+    private final RetryPolicy policy = RetryPolicy.DEFAULT.withBackoff(1, 10, TimeUnit.MILLISECONDS);
+
+    @Test
+    public void getOrg_transientUnavailability_retriedUntilSuccess() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.retrying(policy, metrics)
+            .andThen(builder -> builder.client(unavailable(2, Collections.emptyMap()))));
+
+        assertEquals("org", sut.getOrg(ORG).toBlocking().single().getName());
+        assertEquals(3, requests.get());
+        assertEquals(2, metrics.getOperation("CcOrganizationResource#getOrganization(UUID)").getRetries());
+    }
+
+    @Test
+    public void getOrg_retriesExhausted_cloudFoundryExceptionThrown() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.retrying(policy.withMaxAttempts(2))
+            .andThen(builder -> builder.client(unavailable(5, Collections.emptyMap()))));
+
+        try {
+            sut.getOrg(ORG).toBlocking().single();
+            fail("Exception expected");
+        } catch (CloudFoundryException e) {
+            assertEquals(503, e.getHttpCode());
+        }
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void createOrganization_unavailable_notRetried() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.retrying(policy)
+            .andThen(builder -> builder.client(unavailable(1, Collections.emptyMap()))));
+
+        try {
+            sut.createOrganization("org");
+            fail("Exception expected");
+        } catch (CloudFoundryException e) {
+            assertEquals(503, e.getHttpCode());
+        }
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void getOrg_retryAfter_waitedAtLeastGivenTime() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.retrying(policy)
+            .andThen(builder -> builder.client(unavailable(1,
+                ImmutableMap.<String, Collection<String>>of("Retry-After", Collections.singletonList("1"))))));
+
+        final long start = System.nanoTime();
+        sut.getOrg(ORG).toBlocking().single();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void getOrg_retryAfterBeyondBudget_notRetried() {
+        final FeignClient sut = new FeignClient(API_URL,
+            FeignClientPresets.retrying(policy.withBudget(100, TimeUnit.MILLISECONDS))
+                .andThen(builder -> builder.client(unavailable(1,
+                    ImmutableMap.<String, Collection<String>>of("Retry-After", Collections.singletonList("120"))))));
+
+        try {
+            sut.getOrg(ORG).toBlocking().single();
+            fail("Exception expected");
+        } catch (CloudFoundryException e) {
+            assertEquals(503, e.getHttpCode());
+        }
+        assertEquals(1, requests.get());
+    }
+
+    /**
+     * Answers 503 given number of times and then returns organization.
+     */
+    private Client unavailable(int failures, Map<String, Collection<String>> headers) {
+        return (request, options) -> {
+            if (requests.incrementAndGet() <= failures) {
+                return Response.create(503, "Service Unavailable", headers, UNAVAILABLE, Util.UTF_8);
+            }
+            final String org = "{\"metadata\":{\"guid\":\"" + ORG + "\"},\"entity\":{\"name\":\"org\"}}";
+            return Response.create(200, "OK", Collections.emptyMap(), org, Util.UTF_8);
+        };
+    }
+}
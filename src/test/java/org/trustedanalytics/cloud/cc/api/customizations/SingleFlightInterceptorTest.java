@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SingleFlightInterceptorTest {
+
+    private static final String CONFIG_KEY = "CcSpaceResource#getSpaceSummary(UUID)";
+
+    private final SingleFlightInterceptor sut = new SingleFlightInterceptor();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    public void intercept_concurrentIdenticalGets_singleRequest() throws Exception {
+        final UUID space = UUID.randomUUID();
+        final Object summary = new Object();
+        final AtomicReference<Thread> follower = new AtomicReference<>();
+        final CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        final CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> intercept("GET", space, () -> {
+            leaderStarted.countDown();
+            // respond only when the other caller waits for this request
+            while (follower.get() == null || follower.get().getState() != Thread.State.WAITING) {
+                Thread.sleep(10);
+            }
+            return summary;
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        final CompletableFuture<Object> other = CompletableFuture.supplyAsync(() -> {
+            follower.set(Thread.currentThread());
+            return intercept("GET", space, Object::new);
+        });
+
+        assertSame(summary, leader.get(5, TimeUnit.SECONDS));
+        assertSame(summary, other.get(5, TimeUnit.SECONDS));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void intercept_sequentialGets_requestEachTime() {
+        final UUID space = UUID.randomUUID();
+
+        intercept("GET", space, Object::new);
+        intercept("GET", space, Object::new);
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void intercept_nonGet_notCollapsed() {
+        final UUID space = UUID.randomUUID();
+
+        intercept("DELETE", space, Object::new);
+        intercept("DELETE", space, Object::new);
+
+        assertEquals(2, requests.get());
+    }
+
+    private Object intercept(String httpMethod, UUID arg, Callable<Object> response) {
+        final MethodHandler counting = args -> {
+            requests.incrementAndGet();
+            return response.call();
+        };
+        try {
+            return sut.intercept(
+                new ResourceInvocation(null, null, CONFIG_KEY, httpMethod, new Object[] {arg}, counting));
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.api.customizations;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.FeignClientPresets;
+import org.trustedanalytics.cloud.tracing.Span;
+import org.trustedanalytics.cloud.tracing.Tracer;
+
+import feign.Client;
+import feign.Feign.Builder;
+import feign.Response;
+import feign.Util;
+
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class TracingInterceptorTest {
+
+    private static final String API_URL = "http://api.example.com";
+    private static final String TRACE_HEADER = "X-Trace";
+    private static final String NO_HEADER = "none";
+
+    private final Queue<RecordedSpan> spans = new ConcurrentLinkedQueue<>();
+    private final Queue<String> traceHeaders = new ConcurrentLinkedQueue<>();
+
+    private final Tracer tracer = name -> {
+        final RecordedSpan span = new RecordedSpan(name);
+        spans.add(span);
+        return span;
+    };
+
+    @Test
+    public void getOrgs_tracing_spanPerPage() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.tracing(tracer, orgPages(3)));
+
+        sut.getOrgs().toList().toBlocking().single();
+
+        assertThat(spans, hasSize(3));
+        assertThat(spans.stream().map(span -> span.name).collect(Collectors.toList()), contains(
+            "CcOrganizationResource#getOrgs()", "CcOrganizationResource#getOrgs(URI)",
+            "CcOrganizationResource#getOrgs(URI)"));
+        assertThat(spans.stream().map(span -> span.attributes.get(Span.PAGE)).collect(Collectors.toList()),
+            contains("1", "2", "3"));
+        for (RecordedSpan span : spans) {
+            assertThat(span.attributes, hasEntry(Span.URL_TEMPLATE, "/v2/organizations"));
+            assertThat(span.attributes, hasEntry(Span.HTTP_METHOD, "GET"));
+            assertThat(span.attributes, hasEntry(Span.STATUS_CODE, "200"));
+            assertThat(span.ended, equalTo(true));
+        }
+        assertThat(traceHeaders, contains(spans.stream().map(span -> span.name).toArray()));
+    }
+
+    @Test
+    public void getOrgsCount_errorResponse_statusAndErrorRecorded() {
+        final Client failing = (request, options) -> Response.create(404, "Not Found", Collections.emptyMap(),
+            "{\"code\":30003,\"description\":\"not found\",\"error_code\":\"CF-NotFound\"}", Util.UTF_8);
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.tracing(tracer, failing));
+
+        try {
+            sut.getOrgsCount().toBlocking().single();
+        } catch (CloudFoundryException expected) {
+            // recorded below
+        }
+
+        final RecordedSpan span = spans.peek();
+        assertThat(span.attributes, hasEntry(Span.STATUS_CODE, "404"));
+        assertThat(span.errors, hasSize(1));
+        assertThat(span.ended, equalTo(true));
+    }
+
+    @Test
+    public void getOrgs_tracerNone_requestsNotTouched() {
+        final FeignClient sut = new FeignClient(API_URL, FeignClientPresets.tracing(Tracer.NONE, orgPages(2))
+            .andThen(builder -> builder.client(orgPages(2))));
+
+        sut.getOrgs().toList().toBlocking().single();
+
+        assertThat(spans, empty());
+        assertThat(traceHeaders, contains(NO_HEADER, NO_HEADER));
+    }
+
+    @Test
+    public void getOrgs_tracingAfterOtherPresets_transportAndInterceptorsKept() {
+        final Queue<String> intercepted = new ConcurrentLinkedQueue<>();
+        final Function<Builder, Builder> transport = builder -> builder.client(orgPages(2));
+        final FeignClient sut = new FeignClient(API_URL, transport
+            .andThen(FeignClientPresets.interceptors(invocation -> {
+                intercepted.add(invocation.getConfigKey());
+                return invocation.proceed();
+            }))
+            .andThen(FeignClientPresets.tracing(tracer)));
+
+        sut.getOrgs().toList().toBlocking().single();
+
+        assertThat(spans, hasSize(2));
+        assertThat(intercepted, hasSize(2));
+        assertThat(traceHeaders, contains("CcOrganizationResource#getOrgs()",
+            "CcOrganizationResource#getOrgs(URI)"));
+    }
+
+    /**
+     * Serves organizations collection with one organization per page and records trace headers.
+     */
+    private Client orgPages(int totalPages) {
+        return (request, options) -> {
+            final Collection<String> header = request.headers().get(TRACE_HEADER);
+            traceHeaders.add(header == null ? NO_HEADER : String.join(",", header));
+            final int page = request.url().matches(".*[?&]page=\\d+.*")
+                ? Integer.parseInt(request.url().replaceAll(".*[?&]page=(\\d+).*", "$1")) : 1;
+            final String nextUrl = page < totalPages
+                ? "\"/v2/organizations?order-direction=asc&page=" + (page + 1) + "&results-per-page=1\""
+                : "null";
+            final String body = "{\"total_results\":" + totalPages + ",\"total_pages\":" + totalPages
+                + ",\"next_url\":" + nextUrl + ",\"resources\":[]}";
+            return Response.create(200, "OK", Collections.emptyMap(), body, Util.UTF_8);
+        };
+    }
+
+    private static final class RecordedSpan implements Span {
+        private final String name;
+        private final Map<String, String> attributes = new ConcurrentHashMap<>();
+        private final Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        private volatile boolean ended;
+
+        private RecordedSpan(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            attributes.put(key, String.valueOf(value));
+        }
+
+        @Override
+        public void recordError(Throwable error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void inject(BiConsumer<String, String> headers) {
+            headers.accept(TRACE_HEADER, name);
+        }
+
+        @Override
+        public void end() {
+            ended = true;
+        }
+    }
+}
@@ -0,0 +1,746 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process fake of the Cloud Controller v2 API serving endpoints used by the resources of
+ * this client. Responses are rendered from a generated {@link StubDataSet}:
+ * <ul>
+ * <li>collections are paged honoring "page", "results-per-page" and "order-direction", with
+ * "next_url" and "prev_url" set the way Cloud Controller does</li>
+ * <li>"inline-relations-depth" inlines service plan and service of service instances</li>
+ * <li>"q" filters are not evaluated, the whole collection is returned</li>
+ * <li>write requests get plausible responses but do not change the data set</li>
+ * </ul>
+ * Latency and failures are injected according to {@link StubSettings}. Example:
+ * <pre>
+ * {@code
+ * try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withOrgs(1000))) {
+ *     new FeignClient(server.getUrl()).getOrgs().count().toBlocking().single();
+ * }
+ * }
+ * </pre>
+ */
+public class CcStubServer implements Closeable {
+
+    private static final int DEFAULT_RESULTS_PER_PAGE = 50;
+    private static final int MAX_RESULTS_PER_PAGE = 100;
+    private static final String GUID = "([0-9a-fA-F-]{36})";
+    private static final int APP_MEMORY = 512;
+
+    private static final List<UUID> QUOTAS = ImmutableList.of(
+        UUID.fromString("9f4bf4b3-7d4a-4d6f-9d1e-3b5b1a0c1e01"), UUID.fromString("9f4bf4b3-7d4a-4d6f-9d1e-3b5b1a0c1e02"));
+
+    private static final List<UUID> BUILDPACKS = ImmutableList.of(
+        UUID.fromString("2d8b7a1e-5e36-4c5b-8c4e-0f4a1b2c3d01"), UUID.fromString("2d8b7a1e-5e36-4c5b-8c4e-0f4a1b2c3d02"),
+        UUID.fromString("2d8b7a1e-5e36-4c5b-8c4e-0f4a1b2c3d03"));
+
+    private final StubSettings settings;
+    private final StubDataSet data;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Route> routes = new ArrayList<>();
+    private final Map<UUID, UUID> bindingApps;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    private CcStubServer(StubSettings settings) throws IOException {
+        this.settings = Objects.requireNonNull(settings);
+        this.data = new StubDataSet(settings);
+        this.bindingApps = data.getApps().stream().collect(Collectors.toMap(CcStubServer::bindingGuid, app -> app));
+        registerRoutes();
+
+        this.executor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("cc-stub-%d").build());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Starts server listening on a free port of the loopback interface.
+     */
+    public static CcStubServer start(StubSettings settings) throws IOException {
+        return new CcStubServer(settings);
+    }
+
+    /**
+     * @return api url to be passed to the client
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public StubDataSet getDataSet() {
+        return data;
+    }
+
+    public StubSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return number of requests received so far, including failed ones
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void registerRoutes() {
+        // organizations
+        get("/v2/organizations", r -> page(r, data.getOrgs(), this::org));
+        get("/v2/organizations/" + GUID, r -> known(r.guid(1), this::org));
+        get("/v2/organizations/" + GUID + "/spaces", r -> page(r, data.getSpaces(r.guid(1)), this::space));
+        get("/v2/organizations/" + GUID + "/summary", r -> known(r.guid(1), this::orgSummary));
+        get("/v2/organizations/" + GUID + "/memory_usage", r -> known(r.guid(1), org -> ImmutableMap.of(
+            "memory_usage_in_mb", data.getSpaces(org).size() * APP_MEMORY)));
+        get("/v2/organizations/" + GUID + "/services", r -> page(r, data.getServices(), this::service));
+        get("/v2/organizations/" + GUID + "/user_roles",
+            r -> page(r, data.getUsers(), user -> userWithRoles(user, "organization_roles", orgRoles(user))));
+        get("/v2/organizations/" + GUID + "/(users|managers|auditors|billing_managers)",
+            r -> page(r, usersWithOrgRole(r.group(2)), this::user));
+
+        // spaces
+        get("/v2/spaces", r -> page(r, data.getSpaces(), this::space));
+        get("/v2/spaces/" + GUID, r -> known(r.guid(1), this::space));
+        get("/v2/spaces/" + GUID + "/summary", r -> known(r.guid(1), this::spaceSummary));
+        get("/v2/spaces/" + GUID + "/services", r -> page(r, data.getServices(), this::service));
+        get("/v2/spaces/" + GUID + "/user_roles",
+            r -> page(r, data.getUsers(), user -> userWithRoles(user, "space_roles", spaceRoles(user))));
+        get("/v2/spaces/" + GUID + "/(developers|managers|auditors)",
+            r -> page(r, usersWithSpaceRole(r.group(2)), this::user));
+
+        // applications
+        get("/v2/apps", r -> page(r, data.getApps(), this::app));
+        get("/v2/apps/" + GUID + "/summary", r -> known(r.guid(1), this::appSummary));
+        get("/v2/apps/" + GUID + "/env", r -> known(r.guid(1), this::appEnv));
+        get("/v2/apps/" + GUID + "/service_bindings", r -> page(r, bindingsOf(r.guid(1)), this::binding));
+        post("/v2/apps/" + GUID + "/restage", r -> known(r.guid(1), this::app));
+        put("/v2/apps/" + GUID, r -> known(r.guid(1), this::app));
+
+        // services
+        get("/v2/services", r -> page(r, data.getServices(), this::service));
+        get("/v2/services/" + GUID, r -> known(r.guid(1), this::service));
+        get("/v2/services/" + GUID + "/service_plans",
+            r -> page(r, ImmutableList.of(data.planOfService(r.guid(1))), plan -> servicePlan(plan, 0)));
+        get("/v2/service_instances",
+            r -> page(r, data.getServiceInstances(), instance -> serviceInstance(instance, r.depth())));
+        get("/v2/service_bindings", r -> page(r, allBindings(), this::binding));
+        get("/v2/service_keys", r -> page(r, Collections.<UUID>emptyList(), guid -> guid));
+        get("/v2/service_plan_visibilities", r -> page(r, Collections.<UUID>emptyList(), guid -> guid));
+
+        // users
+        get("/v2/users", r -> page(r, data.getUsers(), this::user));
+        get("/v2/users/" + GUID + "/organizations", r -> page(r, data.getOrgs(), this::org));
+        get("/v2/users/" + GUID + "/managed_organizations",
+            r -> page(r, data.isManager(r.guid(1)) ? data.getOrgs() : ImmutableList.of(), this::org));
+        get("/v2/users/" + GUID + "/audited_organizations",
+            r -> page(r, data.isAuditor(r.guid(1)) ? data.getOrgs() : ImmutableList.of(), this::org));
+        get("/v2/users/" + GUID + "/billing_managed_organizations",
+            r -> page(r, data.isBillingManager(r.guid(1)) ? data.getOrgs() : ImmutableList.of(), this::org));
+        get("/v2/users/" + GUID + "/spaces", r -> page(r, data.getSpaces(), this::space));
+        get("/v2/users/" + GUID + "/managed_spaces",
+            r -> page(r, data.isManager(r.guid(1)) ? data.getSpaces() : ImmutableList.of(), this::space));
+        get("/v2/users/" + GUID + "/audited_spaces",
+            r -> page(r, data.isAuditor(r.guid(1)) ? data.getSpaces() : ImmutableList.of(), this::space));
+
+        // other collections
+        get("/v2/quota_definitions", r -> page(r, QUOTAS, this::quota));
+        get("/v2/buildpacks", r -> page(r, BUILDPACKS, this::buildpack));
+
+        // writes, acknowledged without changing the data set
+        put("/v2/organizations/" + GUID, r -> known(r.guid(1), this::org));
+        put("/v2/organizations/" + GUID + "/[a-z_]+/" + GUID, r -> known(r.guid(1), this::org));
+        put("/v2/spaces/" + GUID + "/[a-z_]+/" + GUID, r -> known(r.guid(1), this::space));
+        post("/v2/(organizations|spaces|service_instances|service_bindings|service_keys|users|"
+            + "service_plan_visibilities)", this::created);
+        route("DELETE", "/v2/.*", r -> new Reply(204, null));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            delay();
+            final Reply reply;
+            if (settings.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                reply = error(503, 10001, "CF-StubFailure", "Injected failure");
+            } else {
+                reply = dispatch(exchange);
+            }
+            send(exchange, reply);
+        } catch (RuntimeException e) {
+            send(exchange, error(500, 10001, "CF-ServerError", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Reply dispatch(HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getRawPath();
+        for (Route route : routes) {
+            final Matcher matcher = route.pattern.matcher(path);
+            if (route.method.equals(exchange.getRequestMethod()) && matcher.matches()) {
+                return route.handler.apply(new StubRequest(matcher, query(exchange.getRequestURI().getRawQuery()),
+                    readBody(exchange)));
+            }
+        }
+        return error(404, 10000, "CF-NotFound", "Unknown request");
+    }
+
+    private void delay() {
+        long millis = settings.getLatencyMillis();
+        if (settings.getLatencyJitterMillis() > 0) {
+            millis += ThreadLocalRandom.current().nextLong(settings.getLatencyJitterMillis() + 1);
+        }
+        if (millis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        if (reply.body == null) {
+            exchange.sendResponseHeaders(reply.status, -1);
+            return;
+        }
+        final byte[] body = mapper.writeValueAsBytes(reply.body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(reply.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Reply page(StubRequest request, List<UUID> collection, Function<UUID, Object> render) {
+        final int perPage = Math.min(request.intParam("results-per-page", DEFAULT_RESULTS_PER_PAGE),
+            MAX_RESULTS_PER_PAGE);
+        final int totalPages = Math.max(1, (collection.size() + perPage - 1) / perPage);
+        final int page = Math.max(1, request.intParam("page", 1));
+        final List<UUID> ordered = "desc".equals(request.param("order-direction"))
+            ? Lists.reverse(collection) : collection;
+        final List<Object> resources = ordered.stream()
+            .skip((long) (page - 1) * perPage)
+            .limit(perPage)
+            .map(render)
+            .collect(Collectors.toList());
+
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total_results", collection.size());
+        body.put("total_pages", totalPages);
+        body.put("prev_url", page > 1 && page <= totalPages + 1 ? request.pageUrl(page - 1) : null);
+        body.put("next_url", page < totalPages ? request.pageUrl(page + 1) : null);
+        body.put("resources", resources);
+        return new Reply(200, body);
+    }
+
+    private Reply known(UUID guid, Function<UUID, Object> render) {
+        if (!data.contains(guid)) {
+            return error(404, 10000, "CF-NotFound", "Unknown guid: " + guid);
+        }
+        return new Reply(200, render.apply(guid));
+    }
+
+    private Reply created(StubRequest request) {
+        final UUID guid = UUID.randomUUID();
+        final Map<String, Object> entity = new LinkedHashMap<>(request.body());
+        return new Reply(201, resource(guid, "/v2/" + request.group(1), entity));
+    }
+
+    private static Reply error(int status, int code, String errorCode, String description) {
+        return new Reply(status, ImmutableMap.of("code", code, "description", description, "error_code", errorCode));
+    }
+
+    private Object org(UUID org) {
+        return resource(org, "/v2/organizations", entity(
+            "name", data.getName(org),
+            "billing_enabled", false,
+            "quota_definition_guid", QUOTAS.get(0),
+            "status", "active",
+            "spaces_url", "/v2/organizations/" + org + "/spaces"));
+    }
+
+    private Object space(UUID space) {
+        final UUID org = data.parentOf(space);
+        return resource(space, "/v2/spaces", entity(
+            "name", data.getName(space),
+            "organization_guid", org,
+            "organization_url", "/v2/organizations/" + org,
+            "apps_url", "/v2/spaces/" + space + "/apps"));
+    }
+
+    private Object app(UUID app) {
+        return resource(app, "/v2/apps", entity(
+            "name", data.getName(app),
+            "space_guid", data.parentOf(app),
+            "memory", APP_MEMORY,
+            "instances", 1,
+            "disk_quota", 1024,
+            "state", "STARTED",
+            "package_state", "STAGED"));
+    }
+
+    private Object service(UUID service) {
+        return resource(service, "/v2/services", entity(
+            "label", data.getName(service),
+            "description", "Stub service " + data.getName(service),
+            "active", true,
+            "bindable", true,
+            "tags", ImmutableList.of("stub"),
+            "unique_id", service.toString(),
+            "service_plans_url", "/v2/services/" + service + "/service_plans"));
+    }
+
+    private Object servicePlan(UUID plan, int depth) {
+        final UUID service = data.parentOf(plan);
+        final Map<String, Object> entity = entity(
+            "name", data.getName(plan),
+            "free", true,
+            "description", "Stub plan",
+            "service_guid", service,
+            "public", true,
+            "active", true,
+            "unique_id", plan.toString(),
+            "service_url", "/v2/services/" + service);
+        if (depth > 0) {
+            entity.put("service", service(service));
+        }
+        return resource(plan, "/v2/service_plans", entity);
+    }
+
+    private Object serviceInstance(UUID instance, int depth) {
+        final UUID space = data.parentOf(instance);
+        final UUID plan = data.planOfInstance(instance);
+        final Map<String, Object> entity = entity(
+            "name", data.getName(instance),
+            "credentials", ImmutableMap.of("uri", "stub://" + data.getName(instance)),
+            "service_plan_guid", plan,
+            "space_guid", space,
+            "dashboard_url", "https://dashboard.example.com/" + instance,
+            "type", "managed_service_instance",
+            "last_operation", ImmutableMap.of("type", "create", "state", "succeeded", "description", ""),
+            "tags", ImmutableList.of(),
+            "space_url", "/v2/spaces/" + space,
+            "service_plan_url", "/v2/service_plans/" + plan,
+            "service_bindings_url", "/v2/service_instances/" + instance + "/service_bindings",
+            "service_keys_url", "/v2/service_instances/" + instance + "/service_keys");
+        if (depth > 0 && plan != null) {
+            entity.put("service_plan", servicePlan(plan, depth - 1));
+        }
+        return resource(instance, "/v2/service_instances", entity);
+    }
+
+    private Object user(UUID user) {
+        return resource(user, "/v2/users", entity(
+            "admin", false,
+            "active", true,
+            "username", data.getName(user),
+            "organizations_url", "/v2/users/" + user + "/organizations"));
+    }
+
+    private Object userWithRoles(UUID user, String rolesField, List<String> roles) {
+        final Map<String, Object> entity = entity(
+            "admin", false,
+            "active", true,
+            "username", data.getName(user));
+        entity.put(rolesField, roles);
+        return resource(user, "/v2/users", entity);
+    }
+
+    private List<String> orgRoles(UUID user) {
+        final List<String> roles = new ArrayList<>();
+        roles.add("org_user");
+        if (data.isManager(user)) {
+            roles.add("org_manager");
+        }
+        if (data.isAuditor(user)) {
+            roles.add("org_auditor");
+        }
+        if (data.isBillingManager(user)) {
+            roles.add("billing_manager");
+        }
+        return roles;
+    }
+
+    private List<String> spaceRoles(UUID user) {
+        final List<String> roles = new ArrayList<>();
+        roles.add("space_developer");
+        if (data.isManager(user)) {
+            roles.add("space_manager");
+        }
+        if (data.isAuditor(user)) {
+            roles.add("space_auditor");
+        }
+        return roles;
+    }
+
+    private List<UUID> usersWithOrgRole(String role) {
+        switch (role) {
+            case "managers":
+                return data.getUsers().stream().filter(data::isManager).collect(Collectors.toList());
+            case "auditors":
+                return data.getUsers().stream().filter(data::isAuditor).collect(Collectors.toList());
+            case "billing_managers":
+                return data.getUsers().stream().filter(data::isBillingManager).collect(Collectors.toList());
+            default:
+                return data.getUsers();
+        }
+    }
+
+    private List<UUID> usersWithSpaceRole(String role) {
+        switch (role) {
+            case "managers":
+                return data.getUsers().stream().filter(data::isManager).collect(Collectors.toList());
+            case "auditors":
+                return data.getUsers().stream().filter(data::isAuditor).collect(Collectors.toList());
+            default:
+                return data.getUsers();
+        }
+    }
+
+    private Object quota(UUID quota) {
+        return resource(quota, "/v2/quota_definitions", entity(
+            "name", quota.equals(QUOTAS.get(0)) ? "default" : "large",
+            "non_basic_services_allowed", true,
+            "total_services", 100,
+            "total_routes", 1000,
+            "memory_limit", 10240,
+            "trial_db_allowed", false,
+            "instance_memory_limit", -1));
+    }
+
+    private Object buildpack(UUID buildpack) {
+        final int position = BUILDPACKS.indexOf(buildpack) + 1;
+        return resource(buildpack, "/v2/buildpacks", entity(
+            "name", "buildpack-" + position,
+            "position", position,
+            "enabled", true,
+            "locked", false,
+            "filename", "buildpack-" + position + ".zip"));
+    }
+
+    /**
+     * Every application is bound to the first service instance of its space.
+     */
+    private List<UUID> bindingsOf(UUID app) {
+        final List<UUID> instances = data.getServiceInstances(data.parentOf(app));
+        return instances.isEmpty() ? ImmutableList.of() : ImmutableList.of(bindingGuid(app));
+    }
+
+    private List<UUID> allBindings() {
+        return data.getApps().stream().flatMap(app -> bindingsOf(app).stream()).collect(Collectors.toList());
+    }
+
+    private Object binding(UUID binding) {
+        final UUID app = bindingApps.get(binding);
+        final UUID instance = data.getServiceInstances(data.parentOf(app)).get(0);
+        return resource(binding, "/v2/service_bindings", entity(
+            "app_guid", app,
+            "service_instance_guid", instance,
+            "credentials", ImmutableMap.of("uri", "stub://" + data.getName(instance)),
+            "app_url", "/v2/apps/" + app,
+            "service_instance_url", "/v2/service_instances/" + instance));
+    }
+
+    private static UUID bindingGuid(UUID app) {
+        return UUID.nameUUIDFromBytes(("binding-" + app).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object orgSummary(UUID org) {
+        return ImmutableMap.of(
+            "guid", org,
+            "name", data.getName(org),
+            "status", "active",
+            "spaces", data.getSpaces(org).stream()
+                .map(space -> ImmutableMap.builder()
+                    .put("guid", space)
+                    .put("name", data.getName(space))
+                    .put("service_count", data.getServiceInstances(space).size())
+                    .put("app_count", data.getApps(space).size())
+                    .put("mem_dev_total", data.getApps(space).size() * APP_MEMORY)
+                    .put("mem_prod_total", 0)
+                    .build())
+                .collect(Collectors.toList()));
+    }
+
+    private Object spaceSummary(UUID space) {
+        final List<UUID> instances = data.getServiceInstances(space);
+        return ImmutableMap.of(
+            "guid", space,
+            "name", data.getName(space),
+            "apps", data.getApps(space).stream()
+                .map(app -> ImmutableMap.builder()
+                    .put("guid", app)
+                    .put("name", data.getName(app))
+                    .put("urls", ImmutableList.of(data.getName(app) + ".example.com"))
+                    .put("running_instances", 1)
+                    .put("service_names", instances.isEmpty()
+                        ? ImmutableList.of() : ImmutableList.of(data.getName(instances.get(0))))
+                    .put("state", "STARTED")
+                    .build())
+                .collect(Collectors.toList()),
+            "services", instances.stream()
+                .map(instance -> {
+                    final UUID plan = data.planOfInstance(instance);
+                    final UUID service = data.parentOf(plan);
+                    return ImmutableMap.builder()
+                        .put("guid", instance)
+                        .put("name", data.getName(instance))
+                        .put("bound_app_count", instance.equals(instances.get(0)) ? data.getApps(space).size() : 0)
+                        .put("dashboard_url", "https://dashboard.example.com/" + instance)
+                        .put("service_plan", ImmutableMap.of("guid", plan, "name", data.getName(plan),
+                            "service", ImmutableMap.of("guid", service, "label", data.getName(service))))
+                        .put("last_operation", ImmutableMap.of("type", "create", "state", "succeeded",
+                            "description", ""))
+                        .build();
+                })
+                .collect(Collectors.toList()));
+    }
+
+    private Object appSummary(UUID app) {
+        final Map<String, Object> summary = entity(
+            "guid", app,
+            "name", data.getName(app),
+            "memory", APP_MEMORY,
+            "instances", 1,
+            "running_instances", 1,
+            "disk_quota", 1024,
+            "space_guid", data.parentOf(app),
+            "state", "STARTED",
+            "package_state", "STAGED",
+            "detected_buildpack", "buildpack-1",
+            "environment_json", ImmutableMap.of());
+        summary.put("services", data.getServiceInstances(data.parentOf(app)).stream().limit(1)
+            .map(instance -> ImmutableMap.of("guid", instance, "name", data.getName(instance)))
+            .collect(Collectors.toList()));
+        return summary;
+    }
+
+    private Object appEnv(UUID app) {
+        final List<Object> bound = data.getServiceInstances(data.parentOf(app)).stream().limit(1)
+            .map(instance -> ImmutableMap.of(
+                "name", data.getName(instance),
+                "label", data.getName(data.parentOf(data.planOfInstance(instance))),
+                "tags", ImmutableList.of("stub"),
+                "plan", data.getName(data.planOfInstance(instance)),
+                "credentials", ImmutableMap.of("uri", "stub://" + data.getName(instance))))
+            .collect(Collectors.toList());
+        return ImmutableMap.of(
+            "staging_env_json", ImmutableMap.of(),
+            "running_env_json", ImmutableMap.of(),
+            "environment_json", ImmutableMap.of(),
+            "system_env_json", ImmutableMap.of("VCAP_SERVICES", ImmutableMap.of("stub", bound)),
+            "application_env_json", ImmutableMap.of("VCAP_APPLICATION", ImmutableMap.of(
+                "application_id", app, "application_name", data.getName(app), "space_id", data.parentOf(app))));
+    }
+
+    private static Map<String, Object> resource(UUID guid, String collection, Map<String, Object> entity) {
+        return ImmutableMap.of(
+            "metadata", ImmutableMap.of(
+                "guid", guid,
+                "url", collection + "/" + guid,
+                "created_at", "2016-01-01T00:00:00Z"),
+            "entity", entity);
+    }
+
+    private static Map<String, Object> entity(Object... keysAndValues) {
+        final Map<String, Object> entity = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            entity.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return entity;
+    }
+
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            final byte[] body = ByteStreams.toByteArray(in);
+            if (body.length == 0) {
+                return ImmutableMap.of();
+            }
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> map = mapper.readValue(body, Map.class);
+            return map;
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        final Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            final int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), decode(pair.substring(eq + 1)));
+            } else if (!pair.isEmpty()) {
+                query.put(pair, "");
+            }
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void get(String path, Function<StubRequest, Reply> handler) {
+        route("GET", path, handler);
+    }
+
+    private void post(String path, Function<StubRequest, Reply> handler) {
+        route("POST", path, handler);
+    }
+
+    private void put(String path, Function<StubRequest, Reply> handler) {
+        route("PUT", path, handler);
+    }
+
+    private void route(String method, String path, Function<StubRequest, Reply> handler) {
+        routes.add(new Route(method, Pattern.compile(path), handler));
+    }
+
+    private static final class Route {
+        private final String method;
+        private final Pattern pattern;
+        private final Function<StubRequest, Reply> handler;
+
+        private Route(String method, Pattern pattern, Function<StubRequest, Reply> handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.handler = handler;
+        }
+    }
+
+    private static final class Reply {
+        private final int status;
+        private final Object body;
+
+        private Reply(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static final class StubRequest {
+        private final Matcher path;
+        private final Map<String, String> query;
+        private final Map<String, Object> body;
+
+        private StubRequest(Matcher path, Map<String, String> query, Map<String, Object> body) {
+            this.path = path;
+            this.query = query;
+            this.body = body;
+        }
+
+        String group(int group) {
+            return path.group(group);
+        }
+
+        UUID guid(int group) {
+            return UUID.fromString(path.group(group));
+        }
+
+        String param(String name) {
+            return query.get(name);
+        }
+
+        int intParam(String name, int defaultValue) {
+            final String value = query.get(name);
+            try {
+                return value == null ? defaultValue : Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+
+        int depth() {
+            return intParam("inline-relations-depth", 0);
+        }
+
+        Map<String, Object> body() {
+            return body;
+        }
+
+        /**
+         * @return url of given page keeping all other query parameters, as Cloud Controller does
+         */
+        String pageUrl(int page) {
+            final Map<String, String> params = new LinkedHashMap<>(query);
+            params.put("page", String.valueOf(page));
+            params.putIfAbsent("results-per-page", String.valueOf(DEFAULT_RESULTS_PER_PAGE));
+            return path.group(0) + "?" + params.entrySet().stream()
+                .map(param -> param.getKey() + "=" + encode(param.getValue()))
+                .collect(Collectors.joining("&"));
+        }
+
+        private static String encode(String value) {
+            try {
+                return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.stub;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.isIn;
+
+import org.trustedanalytics.cloud.cc.FeignClient;
+import org.trustedanalytics.cloud.cc.api.CcExtendedServiceInstance;
+import org.trustedanalytics.cloud.cc.api.CcOrg;
+import org.trustedanalytics.cloud.cc.api.CcSummary;
+import org.trustedanalytics.cloud.cc.api.CountKind;
+import org.trustedanalytics.cloud.cc.api.customizations.CloudFoundryException;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class CcStubServerTest {
+
+    @Test
+    public void getOrgs_manyPages_allOrgsReturnedFollowingNextUrl() throws IOException {
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withOrgs(120))) {
+            final List<UUID> orgs = new FeignClient(server.getUrl()).getOrgs()
+                .map(CcOrg::getGuid).toList().toBlocking().single();
+
+            assertThat(orgs, equalTo(server.getDataSet().getOrgs()));
+            assertThat(server.getRequestCount(), equalTo(3L));
+        }
+    }
+
+    @Test
+    public void getExtendedServiceInstances_depth2_servicePlanAndServiceInlined() throws IOException {
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withServices(2))) {
+            final List<String> labels = new FeignClient(server.getUrl()).getExtendedServiceInstances(2)
+                .map(CcExtendedServiceInstance::getEntity)
+                .map(entity -> entity.getServicePlan().getEntity().getService().getEntity().getLabel())
+                .toList().toBlocking().single();
+
+            assertThat(labels, hasSize(server.getDataSet().getServiceInstances().size()));
+            assertThat(labels, everyItem(isIn(new String[] {"service-0", "service-1"})));
+        }
+    }
+
+    @Test
+    public void getCounts_dataSetSize_totalsReturned() throws IOException {
+        final StubSettings settings = StubSettings.DEFAULT.withOrgs(7).withSpacesPerOrg(2).withUsers(3);
+        try (CcStubServer server = CcStubServer.start(settings)) {
+            final Map<CountKind, Integer> counts = new FeignClient(server.getUrl())
+                .getCounts(EnumSet.of(CountKind.ORGS, CountKind.SPACES, CountKind.USERS)).toBlocking().single();
+
+            assertThat(counts.get(CountKind.ORGS), equalTo(7));
+            assertThat(counts.get(CountKind.SPACES), equalTo(14));
+            assertThat(counts.get(CountKind.USERS), equalTo(3));
+        }
+    }
+
+    @Test
+    public void getSpaceSummary_space_appsAndInstancesOfSpace() throws IOException {
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT)) {
+            final UUID space = server.getDataSet().getSpaces().get(0);
+
+            final CcSummary summary = new FeignClient(server.getUrl()).getSpaceSummary(space);
+
+            assertThat(summary.getApps().stream().map(app -> app.getGuid()).collect(Collectors.toList()),
+                equalTo(server.getDataSet().getApps(space)));
+            assertThat(summary.getServiceInstances(), hasSize(server.getDataSet().getServiceInstances(space).size()));
+        }
+    }
+
+    @Test(expected = CloudFoundryException.class)
+    public void getOrgs_everyRequestFails_cloudFoundryExceptionThrown() throws IOException {
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withErrorRate(1))) {
+            new FeignClient(server.getUrl()).getOrgs().toBlocking().last();
+        }
+    }
+
+    @Test
+    public void getOrg_latency_responseDelayed() throws IOException {
+        try (CcStubServer server = CcStubServer.start(StubSettings.DEFAULT.withLatency(100, TimeUnit.MILLISECONDS))) {
+            final long start = System.nanoTime();
+
+            new FeignClient(server.getUrl()).getOrg(server.getDataSet().getOrgs().get(0)).toBlocking().single();
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(100L));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.stub;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic Cloud Controller entities generated from {@link StubSettings}. Only guids and
+ * relations are kept, names are derived from positions, e.g. "org-3" or "space-3-1".
+ */
+public final class StubDataSet {
+
+    private final List<UUID> orgs;
+    private final List<UUID> spaces;
+    private final List<UUID> apps;
+    private final List<UUID> serviceInstances;
+    private final List<UUID> services;
+    private final List<UUID> users;
+
+    private final ImmutableListMultimap<UUID, UUID> spacesByOrg;
+    private final ImmutableListMultimap<UUID, UUID> appsBySpace;
+    private final ImmutableListMultimap<UUID, UUID> serviceInstancesBySpace;
+
+    // guid of the organization of a space, space of an application or instance, service of a plan
+    private final Map<UUID, UUID> parents;
+    private final Map<UUID, UUID> planOfService;
+    private final Map<UUID, UUID> planOfInstance;
+    private final Map<UUID, String> names;
+    private final Map<UUID, Integer> userIndexes;
+
+    StubDataSet(StubSettings settings) {
+        final Random random = new Random(settings.getSeed());
+        final ImmutableList.Builder<UUID> orgs = ImmutableList.builder();
+        final ImmutableList.Builder<UUID> spaces = ImmutableList.builder();
+        final ImmutableList.Builder<UUID> apps = ImmutableList.builder();
+        final ImmutableList.Builder<UUID> serviceInstances = ImmutableList.builder();
+        final ImmutableList.Builder<UUID> services = ImmutableList.builder();
+        final ImmutableList.Builder<UUID> users = ImmutableList.builder();
+        final ImmutableListMultimap.Builder<UUID, UUID> spacesByOrg = ImmutableListMultimap.builder();
+        final ImmutableListMultimap.Builder<UUID, UUID> appsBySpace = ImmutableListMultimap.builder();
+        final ImmutableListMultimap.Builder<UUID, UUID> serviceInstancesBySpace = ImmutableListMultimap.builder();
+        final ImmutableMap.Builder<UUID, UUID> parents = ImmutableMap.builder();
+        final ImmutableMap.Builder<UUID, UUID> planOfService = ImmutableMap.builder();
+        final ImmutableMap.Builder<UUID, UUID> planOfInstance = ImmutableMap.builder();
+        final ImmutableMap.Builder<UUID, String> names = ImmutableMap.builder();
+        final ImmutableMap.Builder<UUID, Integer> userIndexes = ImmutableMap.builder();
+
+        final List<UUID> plans;
+        final ImmutableList.Builder<UUID> plansBuilder = ImmutableList.builder();
+        for (int s = 0; s < settings.getServices(); s++) {
+            final UUID service = guid(random);
+            final UUID plan = guid(random);
+            services.add(service);
+            plansBuilder.add(plan);
+            planOfService.put(service, plan);
+            parents.put(plan, service);
+            names.put(service, "service-" + s);
+            names.put(plan, "plan-" + s);
+        }
+        plans = plansBuilder.build();
+
+        int instanceNumber = 0;
+        for (int o = 0; o < settings.getOrgs(); o++) {
+            final UUID org = guid(random);
+            orgs.add(org);
+            names.put(org, "org-" + o);
+            for (int s = 0; s < settings.getSpacesPerOrg(); s++) {
+                final UUID space = guid(random);
+                spaces.add(space);
+                spacesByOrg.put(org, space);
+                parents.put(space, org);
+                names.put(space, "space-" + o + "-" + s);
+                for (int a = 0; a < settings.getAppsPerSpace(); a++) {
+                    final UUID app = guid(random);
+                    apps.add(app);
+                    appsBySpace.put(space, app);
+                    parents.put(app, space);
+                    names.put(app, "app-" + o + "-" + s + "-" + a);
+                }
+                for (int i = 0; i < settings.getServiceInstancesPerSpace(); i++) {
+                    final UUID instance = guid(random);
+                    serviceInstances.add(instance);
+                    serviceInstancesBySpace.put(space, instance);
+                    parents.put(instance, space);
+                    names.put(instance, "instance-" + o + "-" + s + "-" + i);
+                    if (!plans.isEmpty()) {
+                        planOfInstance.put(instance, plans.get(instanceNumber++ % plans.size()));
+                    }
+                }
+            }
+        }
+
+        for (int u = 0; u < settings.getUsers(); u++) {
+            final UUID user = guid(random);
+            users.add(user);
+            names.put(user, "user-" + u + "@example.com");
+            userIndexes.put(user, u);
+        }
+
+        this.orgs = orgs.build();
+        this.spaces = spaces.build();
+        this.apps = apps.build();
+        this.serviceInstances = serviceInstances.build();
+        this.services = services.build();
+        this.users = users.build();
+        this.spacesByOrg = spacesByOrg.build();
+        this.appsBySpace = appsBySpace.build();
+        this.serviceInstancesBySpace = serviceInstancesBySpace.build();
+        this.parents = parents.build();
+        this.planOfService = planOfService.build();
+        this.planOfInstance = planOfInstance.build();
+        this.names = names.build();
+        this.userIndexes = userIndexes.build();
+    }
+
+    public List<UUID> getOrgs() {
+        return orgs;
+    }
+
+    public List<UUID> getSpaces() {
+        return spaces;
+    }
+
+    public List<UUID> getSpaces(UUID org) {
+        return spacesByOrg.get(org);
+    }
+
+    public List<UUID> getApps() {
+        return apps;
+    }
+
+    public List<UUID> getApps(UUID space) {
+        return appsBySpace.get(space);
+    }
+
+    public List<UUID> getServiceInstances() {
+        return serviceInstances;
+    }
+
+    public List<UUID> getServiceInstances(UUID space) {
+        return serviceInstancesBySpace.get(space);
+    }
+
+    public List<UUID> getServices() {
+        return services;
+    }
+
+    public List<UUID> getUsers() {
+        return users;
+    }
+
+    /**
+     * @return name of organization, space, application, service instance, service or plan, user
+     * name of a user
+     */
+    public String getName(UUID guid) {
+        return names.get(guid);
+    }
+
+    boolean isManager(UUID user) {
+        return userIndexes.get(user) % 10 == 0;
+    }
+
+    boolean isAuditor(UUID user) {
+        return userIndexes.get(user) % 10 == 1;
+    }
+
+    boolean isBillingManager(UUID user) {
+        return userIndexes.get(user) % 10 == 2;
+    }
+
+    boolean contains(UUID guid) {
+        return names.containsKey(guid);
+    }
+
+    /**
+     * @return organization of space, space of application or service instance, service of plan
+     */
+    UUID parentOf(UUID guid) {
+        return parents.get(guid);
+    }
+
+    UUID planOfInstance(UUID instance) {
+        return planOfInstance.get(instance);
+    }
+
+    UUID planOfService(UUID service) {
+        return planOfService.get(service);
+    }
+
+    private static UUID guid(Random random) {
+        // version 4 layout, so generated guids look like the ones issued by Cloud Controller
+        final long most = random.nextLong() & ~0xF000L | 0x4000L;
+        final long least = random.nextLong() & ~(0xC000000000000000L) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.cc.stub;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size of the data set served by {@link CcStubServer} and faults it injects.
+ */
+public final class StubSettings {
+
+    /**
+     * 10 organizations with 3 spaces each, 2 applications and 5 service instances per space,
+     * 5 services, 20 users, no latency and no failures.
+     */
+    public static final StubSettings DEFAULT = new StubSettings();
+
+    private int orgs = 10;
+    private int spacesPerOrg = 3;
+    private int appsPerSpace = 2;
+    private int serviceInstancesPerSpace = 5;
+    private int services = 5;
+    private int users = 20;
+    private long latencyMillis;
+    private long latencyJitterMillis;
+    private double errorRate;
+    private long seed;
+
+    private StubSettings() {
+    }
+
+    private StubSettings(StubSettings other) {
+        this.orgs = other.orgs;
+        this.spacesPerOrg = other.spacesPerOrg;
+        this.appsPerSpace = other.appsPerSpace;
+        this.serviceInstancesPerSpace = other.serviceInstancesPerSpace;
+        this.services = other.services;
+        this.users = other.users;
+        this.latencyMillis = other.latencyMillis;
+        this.latencyJitterMillis = other.latencyJitterMillis;
+        this.errorRate = other.errorRate;
+        this.seed = other.seed;
+    }
+
+    public StubSettings withOrgs(int orgs) {
+        requireNonNegative(orgs, "Organizations");
+        final StubSettings settings = new StubSettings(this);
+        settings.orgs = orgs;
+        return settings;
+    }
+
+    public StubSettings withSpacesPerOrg(int spacesPerOrg) {
+        requireNonNegative(spacesPerOrg, "Spaces per organization");
+        final StubSettings settings = new StubSettings(this);
+        settings.spacesPerOrg = spacesPerOrg;
+        return settings;
+    }
+
+    public StubSettings withAppsPerSpace(int appsPerSpace) {
+        requireNonNegative(appsPerSpace, "Applications per space");
+        final StubSettings settings = new StubSettings(this);
+        settings.appsPerSpace = appsPerSpace;
+        return settings;
+    }
+
+    public StubSettings withServiceInstancesPerSpace(int serviceInstancesPerSpace) {
+        requireNonNegative(serviceInstancesPerSpace, "Service instances per space");
+        final StubSettings settings = new StubSettings(this);
+        settings.serviceInstancesPerSpace = serviceInstancesPerSpace;
+        return settings;
+    }
+
+    /**
+     * @param services number of services, each has a single plan; instances use them in turns
+     */
+    public StubSettings withServices(int services) {
+        requireNonNegative(services, "Services");
+        final StubSettings settings = new StubSettings(this);
+        settings.services = services;
+        return settings;
+    }
+
+    /**
+     * @param users number of users, every user is a member of all organizations and a developer
+     * in all spaces; every tenth is also a manager
+     */
+    public StubSettings withUsers(int users) {
+        requireNonNegative(users, "Users");
+        final StubSettings settings = new StubSettings(this);
+        settings.users = users;
+        return settings;
+    }
+
+    /**
+     * @param latency delay added to every response
+     */
+    public StubSettings withLatency(long latency, TimeUnit unit) {
+        requireNonNegative(latency, "Latency");
+        final StubSettings settings = new StubSettings(this);
+        settings.latencyMillis = unit.toMillis(latency);
+        return settings;
+    }
+
+    /**
+     * @param jitter upper bound of random delay added on top of latency
+     */
+    public StubSettings withLatencyJitter(long jitter, TimeUnit unit) {
+        requireNonNegative(jitter, "Latency jitter");
+        final StubSettings settings = new StubSettings(this);
+        settings.latencyJitterMillis = unit.toMillis(jitter);
+        return settings;
+    }
+
+    /**
+     * @param errorRate fraction of requests answered with 503 Service Unavailable, from 0 to 1
+     */
+    public StubSettings withErrorRate(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        }
+        final StubSettings settings = new StubSettings(this);
+        settings.errorRate = errorRate;
+        return settings;
+    }
+
+    /**
+     * @param seed seed of generated guids, the same seed gives the same data set
+     */
+    public StubSettings withSeed(long seed) {
+        final StubSettings settings = new StubSettings(this);
+        settings.seed = seed;
+        return settings;
+    }
+
+    public int getOrgs() {
+        return orgs;
+    }
+
+    public int getSpacesPerOrg() {
+        return spacesPerOrg;
+    }
+
+    public int getAppsPerSpace() {
+        return appsPerSpace;
+    }
+
+    public int getServiceInstancesPerSpace() {
+        return serviceInstancesPerSpace;
+    }
+
+    public int getServices() {
+        return services;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public long getLatencyJitterMillis() {
+        return latencyJitterMillis;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    private static void requireNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StubSettings [orgs=%d, spacesPerOrg=%d, appsPerSpace=%d, serviceInstancesPerSpace=%d, "
+                + "services=%d, users=%d, latencyMillis=%d, latencyJitterMillis=%d, errorRate=%s, seed=%d]", orgs,
+            spacesPerOrg, appsPerSpace, serviceInstancesPerSpace, services, users, latencyMillis, latencyJitterMillis,
+            errorRate, seed);
+    }
+}
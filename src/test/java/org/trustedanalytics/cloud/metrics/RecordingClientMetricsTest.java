@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+public class RecordingClientMetricsTest {
+
+    private final RecordingClientMetrics sut = new RecordingClientMetrics();
+
+    @Test
+    public void name_urlWithGuidsAndQuery_guidsReplacedAndQueryDropped() {
+        final String url = "http://api.example.com/v2/organizations/" + UUID.randomUUID()
+            + "/spaces?inline-relations-depth=1&q=name:" + UUID.randomUUID();
+
+        assertThat(Operations.name("GET", url), equalTo("GET /v2/organizations/{guid}/spaces"));
+        assertThat(Operations.pathTemplate("/v2/users/not-a-guid/organizations"),
+            equalTo("/v2/users/not-a-guid/organizations"));
+        assertThat(Operations.pathTemplate("http://uaa.example.com"), equalTo("/"));
+    }
+
+    @Test
+    public void requestCompleted_manyRequests_statusesCountedAndLatencyPercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            sut.requestCompleted("GET /v2/organizations", i <= 90 ? 200 : 503, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        sut.requestFailed("GET /v2/organizations", TimeUnit.SECONDS.toNanos(30));
+
+        final RecordingClientMetrics.OperationStats stats = sut.getOperation("GET /v2/organizations");
+        assertThat(sut.getOperations(), contains("GET /v2/organizations"));
+        assertThat(stats.getStatusCount(200), equalTo(90L));
+        assertThat(stats.getStatusCount(503), equalTo(10L));
+        assertThat(stats.getFailures(), equalTo(1L));
+        assertThat(stats.getLatency().getCount(), equalTo(101L));
+        // buckets are powers of two, 50 ms falls into [2^25, 2^26) ns
+        assertThat(stats.getLatency().getPercentile(50), equalTo((1L << 26) - 1));
+        assertThat(stats.getLatency().getPercentile(100), equalTo((1L << 35) - 1));
+    }
+
+    @Test
+    public void cacheAccessed_hitsAndMisses_hitRatio() {
+        sut.cacheAccessed("ORG", false);
+        sut.cacheAccessed("ORG", true);
+        sut.cacheAccessed("ORG", true);
+        sut.cacheAccessed("ORG", true);
+
+        assertThat(sut.getCacheHitRatio("ORG"), closeTo(0.75, 0.001));
+        assertThat(sut.getCacheHitRatio("SPACE"), closeTo(0, 0.001));
+    }
+
+    @Test
+    public void pagesFetched_traversals_histogramPerCollection() {
+        sut.pagesFetched("/v2/organizations", 3);
+        sut.pagesFetched("/v2/organizations", 5);
+
+        assertThat(sut.getPages("/v2/organizations").getCount(), equalTo(2L));
+        assertThat(sut.getPages("/v2/organizations").getSum(), equalTo(8L));
+        assertThat(sut.getPages("/v2/spaces").getCount(), equalTo(0L));
+    }
+}
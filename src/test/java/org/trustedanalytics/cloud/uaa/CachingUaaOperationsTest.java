@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.cloudfoundry.identity.uaa.scim.ScimUser;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import rx.Observable;
+
+public class CachingUaaOperationsTest {
+
+    private static final UUID KNOWN = UUID.randomUUID();
+    private static final UUID LISTED = UUID.randomUUID();
+
+    private final UaaOperations delegate = mock(UaaOperations.class);
+    private final UserNameCache cache = new UserNameCache();
+    private final CachingUaaOperations sut = new CachingUaaOperations(delegate, cache);
+
+    @Test
+    public void findUserNames_someCached_onlyMissingFetched() {
+        cache.put(KNOWN, "known");
+        final UUID missing = UUID.randomUUID();
+        when(delegate.findUserNames(ImmutableList.of(missing)))
+            .thenReturn(ImmutableList.of(UserIdNamePair.of(missing, "missing")));
+
+        final Collection<UserIdNamePair> names = sut.findUserNames(ImmutableList.of(KNOWN, missing));
+
+        assertThat(names.stream().map(UserIdNamePair::getUserName).collect(Collectors.toList()),
+            containsInAnyOrder("known", "missing"));
+        assertEquals(Optional.of("missing"), cache.getUserName(missing));
+    }
+
+    @Test
+    public void findUserIdByName_unknownName_askedOnce() {
+        when(delegate.findUserIdByName(anyString())).thenReturn(Optional.empty());
+
+        assertFalse(sut.findUserIdByName("nobody").isPresent());
+        assertFalse(sut.findUserIdByName("nobody").isPresent());
+
+        verify(delegate, times(1)).findUserIdByName("nobody");
+    }
+
+    @Test
+    public void findUserIdByName_userListed_servedFromCache() {
+        final ScimUser user = new ScimUser();
+        user.setId(LISTED.toString());
+        user.setUserName("listed");
+        when(delegate.getAllUsers()).thenReturn(Observable.just(user));
+
+        sut.getAllUsers().toBlocking().last();
+
+        assertEquals(Optional.of(LISTED),
+            sut.findUserIdByName("listed").map(UserIdNamePair::getGuid));
+        verify(delegate, never()).findUserIdByName(anyString());
+    }
+
+    @Test
+    public void deleteUser_cachedUser_forgotten() {
+        cache.put(KNOWN, "known");
+
+        sut.deleteUser(KNOWN);
+
+        assertFalse(cache.getUserName(KNOWN).isPresent());
+        assertFalse(cache.getUserGuid("known").isPresent());
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.cloudfoundry.identity.uaa.rest.SearchResults;
+import org.cloudfoundry.identity.uaa.scim.ScimUser;
+import org.junit.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestOperations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class UaaClientTest {
+
+    private static final Pattern ID = Pattern.compile("Id eq \"([^\"]+)\"");
+
+    private final RestOperations restOperations = mock(RestOperations.class);
+    private final Queue<Map<String, ?>> requestedPages = new ConcurrentLinkedQueue<>();
+    private final UaaClient sut = new UaaClient(restOperations, "http://uaa.example.com");
+
+    @Test
+    public void getAllUsers_countCappedByServer_allPagesFetchedInOrder() {
+        // server returns at most 3 users per page
+        serveUsers(10, 3);
+
+        final List<ScimUser> users = sut.getAllUsers(ScimPagingOptions.DEFAULT.withParallelism(3))
+            .toList().toBlocking().single();
+
+        assertThat(users.stream().map(ScimUser::getUserName).collect(Collectors.toList()),
+            contains(IntStream.rangeClosed(1, 10).mapToObj(number -> "user-" + number).toArray()));
+        assertThat(requestedPages, hasSize(4));
+    }
+
+    @Test
+    public void getAllUsers_attributesGiven_attributesRequested() {
+        serveUsers(2, 3);
+
+        sut.getAllUsers(ScimPagingOptions.DEFAULT.withAttributes("id", "userName")).toBlocking().last();
+
+        assertThat(requestedPages.peek(), hasEntry("attributes", "id,userName"));
+    }
+
+    @Test
+    public void getAllUsers_noAttributesGiven_allAttributesRequested() {
+        serveUsers(2, 3);
+
+        sut.getAllUsers().toBlocking().last();
+
+        assertThat(requestedPages.peek(), not(hasKey("attributes")));
+    }
+
+    @Test
+    public void findUserNames_manyUsers_chunkedAndMerged() {
+        serveUserNames();
+        final List<UUID> users = IntStream.range(0, 120).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+
+        final Collection<UserIdNamePair> names = sut.findUserNames(users);
+
+        assertThat(names.stream().map(UserIdNamePair::getGuid).collect(Collectors.toList()),
+            containsInAnyOrder(users.toArray()));
+        verify(restOperations, times(3)).getForObject(anyString(), eq(UserIdNameList.class));
+    }
+
+    @Test
+    public void findUserNames_noUsers_noRequest() {
+        assertThat(sut.findUserNames(Collections.emptyList()), hasSize(0));
+        verify(restOperations, never()).getForObject(anyString(), eq(UserIdNameList.class));
+    }
+
+    /**
+     * Answers every filter by id with users named after their GUIDs.
+     */
+    private void serveUserNames() {
+        when(restOperations.getForObject(anyString(), eq(UserIdNameList.class))).thenAnswer(invocation -> {
+            final Matcher matcher = ID.matcher((String) invocation.getArguments()[0]);
+            final List<UserIdNamePair> found = new ArrayList<>();
+            while (matcher.find()) {
+                found.add(UserIdNamePair.of(UUID.fromString(matcher.group(1)), matcher.group(1)));
+            }
+            final UserIdNameList list = new UserIdNameList();
+            list.setUsers(found);
+            return list;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void serveUsers(int total, int maxCount) {
+        when(restOperations.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+            any(ParameterizedTypeReference.class), anyMapOf(String.class, Object.class)))
+            .thenAnswer(invocation -> {
+                final Map<String, ?> pathVars = (Map<String, ?>) invocation.getArguments()[4];
+                requestedPages.add(pathVars);
+                final int startIndex = (Integer) pathVars.get("startIndex");
+                final int count = Math.min((Integer) pathVars.get("count"), maxCount);
+                final List<ScimUser> page = IntStream.range(startIndex, Math.min(startIndex + count, total + 1))
+                    .mapToObj(number -> {
+                        final ScimUser user = new ScimUser();
+                        user.setUserName("user-" + number);
+                        return user;
+                    })
+                    .collect(Collectors.toList());
+                return new ResponseEntity<>(new SearchResults<>(Collections.singletonList("urn:scim:schemas:core:1.0"),
+                    page, startIndex, page.size(), total), HttpStatus.OK);
+            });
+    }
+}
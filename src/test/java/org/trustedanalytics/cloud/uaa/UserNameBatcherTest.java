@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2015 Intel Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trustedanalytics.cloud.uaa;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class UserNameBatcherTest {
+
+    private final UaaOperations uaa = mock(UaaOperations.class);
+    private final Queue<String> resolvingThreads = new ConcurrentLinkedQueue<>();
+
+    @Test
+    public void findUserName_lookupsWithinWindow_resolvedTogether() {
+        final UUID known = UUID.randomUUID();
+        final UUID unknown = UUID.randomUUID();
+        serveNames(known);
+        final UserNameBatcher sut = new UserNameBatcher(uaa, 50, TimeUnit.MILLISECONDS, 100);
+
+        final CompletableFuture<Optional<String>> first = sut.findUserName(known);
+        final CompletableFuture<Optional<String>> second = sut.findUserName(unknown);
+        final CompletableFuture<Optional<String>> repeated = sut.findUserName(known);
+
+        assertEquals(Optional.of("user-" + known), first.join());
+        assertEquals(Optional.empty(), second.join());
+        assertEquals(Optional.of("user-" + known), repeated.join());
+        verify(uaa, times(1)).findUserNames(anyCollectionOf(UUID.class));
+    }
+
+    @Test
+    public void findUserName_batchFull_resolvedWithoutWaitingOffCallerThread() throws Exception {
+        final List<UUID> users = IntStream.range(0, 4).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toList());
+        serveNames(users.toArray(new UUID[users.size()]));
+        final UserNameBatcher sut = new UserNameBatcher(uaa, 1, TimeUnit.HOURS, 2);
+
+        final List<CompletableFuture<Optional<String>>> names =
+            users.stream().map(sut::findUserName).collect(Collectors.toList());
+
+        for (CompletableFuture<Optional<String>> name : names) {
+            assertTrue(name.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        verify(uaa, times(2)).findUserNames(anyCollectionOf(UUID.class));
+        assertThat(resolvingThreads, everyItem(startsWith("uaa-user-name-resolver-")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void serveNames(UUID... known) {
+        when(uaa.findUserNames(anyCollectionOf(UUID.class))).thenAnswer(invocation -> {
+            resolvingThreads.add(Thread.currentThread().getName());
+            return ((Collection<UUID>) invocation.getArguments()[0]).stream()
+                .filter(user -> Arrays.asList(known).contains(user))
+                .map(user -> UserIdNamePair.of(user, "user-" + user))
+                .collect(Collectors.toList());
+        });
+    }
+}